@@ -0,0 +1,95 @@
+package bench;
+
+import JSONReader.JsonGraphReader;
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.scc.CondensationBuilder;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import metrics.MetricsTracker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks over the bundled datasets (data/*.json, run from the project root).
+ * Each invocation processes every graph in the file, so scores are per file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatasetBenchmark {
+
+    @Param({"small.json", "medium.json", "large.json"})
+    public String file;
+
+    private final List<Prepared> graphs = new ArrayList<>();
+
+    /**
+     * One dataset graph with its SCC results precomputed.
+     */
+    private record Prepared(CsrGraph graph, TarjanSCC tarjan, CsrGraph condensation,
+                            CsrGraph weightedCondensation, int[] topo, int source) { }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graphs.clear();
+        for (JsonGraphReader.SingleGraph g : JsonGraphReader.readMany(Path.of("data", file))) {
+            TarjanSCC tarjan = TarjanSCC.of(g.graph());
+            tarjan.run(new MetricsTracker());
+            int[] compId = tarjan.getComponentIds();
+            CondensationBuilder.Condensation c = tarjan.condensation(CondensationBuilder.ParallelEdgePolicy.FIRST);
+            CsrGraph cond = c.dag();
+            CsrGraph wcond = c.weighted();
+            int[] topo = KahnTopologicalSort.sortCsr(cond, new MetricsTracker());
+            int src = compId[g.source() != null ? g.source() : 0];
+            graphs.add(new Prepared(g.graph(), tarjan, cond, wcond, topo, src));
+        }
+    }
+
+    @Benchmark
+    public void tarjanRun(Blackhole bh) {
+        for (Prepared p : graphs) {
+            bh.consume(TarjanSCC.of(p.graph()).run(new MetricsTracker()));
+        }
+    }
+
+    @Benchmark
+    public void buildCondensation(Blackhole bh) {
+        for (Prepared p : graphs) {
+            bh.consume(p.tarjan().condensation(CondensationBuilder.ParallelEdgePolicy.FIRST));
+        }
+    }
+
+    @Benchmark
+    public void kahnSort(Blackhole bh) {
+        for (Prepared p : graphs) {
+            bh.consume(KahnTopologicalSort.sortCsr(p.condensation(), new MetricsTracker()));
+        }
+    }
+
+    @Benchmark
+    public void shortest(Blackhole bh) {
+        for (Prepared p : graphs) {
+            int[] parent = new int[p.weightedCondensation().nodes()];
+            bh.consume(DagShortestPaths.shortest(p.weightedCondensation(), p.topo(), p.source(),
+                    new MetricsTracker(), parent));
+        }
+    }
+
+    @Benchmark
+    public void longest(Blackhole bh) {
+        for (Prepared p : graphs) {
+            int[] parent = new int[p.weightedCondensation().nodes()];
+            bh.consume(DagShortestPaths.longest(p.weightedCondensation(), p.topo(), p.source(),
+                    new MetricsTracker(), parent));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package bench;
+
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.scc.CondensationBuilder;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import metrics.MetricsTracker;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * JMH benchmarks for the pipeline algorithms on synthetic graphs.
+ *
+ * Every benchmark runs on a graph prepared once per trial:
+ * - tarjanRun: TarjanSCC.run on the input graph
+ * - buildCondensation: condensation from an already-run Tarjan instance
+ * - kahnSort: Kahn on the condensation DAG
+ * - shortest / longest: DAG-SP on the weighted condensation from vertex 0's component
+ *
+ * The 10M-vertex dense shapes need a large heap (e.g. -jvmArgsAppend -Xmx8g);
+ * narrow a run with JMH's -p, e.g. -p vertices=1000000 -p shape=SPARSE_DAG.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphAlgorithmsBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int vertices;
+
+    @Param({"SPARSE_DAG", "DENSE_DAG", "SPARSE_CYCLIC", "DENSE_CYCLIC"})
+    public SyntheticGraphs.Shape shape;
+
+    private CsrGraph graph;
+    private TarjanSCC ranTarjan;
+    private CsrGraph condensation;
+    private CsrGraph weightedCondensation;
+    private int[] topo;
+    private int source;
+    private int[] parent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = SyntheticGraphs.generate(vertices, shape, 42L);
+        ranTarjan = TarjanSCC.of(graph);
+        List<List<Integer>> scc = ranTarjan.run(new MetricsTracker());
+        int[] compId = ranTarjan.getComponentIds();
+        CondensationBuilder.Condensation c = ranTarjan.condensation(CondensationBuilder.ParallelEdgePolicy.FIRST);
+        condensation = c.dag();
+        weightedCondensation = c.weighted();
+        topo = KahnTopologicalSort.sortCsr(condensation, new MetricsTracker());
+        source = compId[0];
+        parent = new int[scc.size()];
+    }
+
+    @Benchmark
+    public List<List<Integer>> tarjanRun() {
+        return TarjanSCC.of(graph).run(new MetricsTracker());
+    }
+
+    @Benchmark
+    public CondensationBuilder.Condensation buildCondensation() {
+        return ranTarjan.condensation(CondensationBuilder.ParallelEdgePolicy.FIRST);
+    }
+
+    @Benchmark
+    public int[] kahnSort() {
+        return KahnTopologicalSort.sortCsr(condensation, new MetricsTracker());
+    }
+
+    @Benchmark
+    public double[] shortest() {
+        return DagShortestPaths.shortest(weightedCondensation, topo, source, new MetricsTracker(), parent);
+    }
+
+    @Benchmark
+    public double[] longest() {
+        return DagShortestPaths.longest(weightedCondensation, topo, source, new MetricsTracker(), parent);
+    }
+}
@@ -0,0 +1,49 @@
+package bench;
+
+import graphs.csr.CsrGraph;
+import graphs.generator.SyntheticGraphGenerator;
+
+/**
+ * Benchmark graph shapes on top of {@link SyntheticGraphGenerator}.
+ *
+ * Shapes:
+ * - SPARSE_DAG / DENSE_DAG: no planted SCCs, narrow layers of 64 vertices (deep DAG)
+ * - SPARSE_CYCLIC / DENSE_CYCLIC: 90% of vertices in power-law sized SCCs of up to
+ *   10 000 vertices, 16 layers
+ */
+public final class SyntheticGraphs {
+
+    public enum Shape {
+        SPARSE_DAG(2, true),
+        DENSE_DAG(16, true),
+        SPARSE_CYCLIC(2, false),
+        DENSE_CYCLIC(16, false);
+
+        final int avgOutDegree;
+        final boolean acyclic;
+
+        Shape(int avgOutDegree, boolean acyclic) {
+            this.avgOutDegree = avgOutDegree;
+            this.acyclic = acyclic;
+        }
+    }
+
+    private SyntheticGraphs() { }
+
+    /**
+     * @param n Number of vertices.
+     * @param shape Density and cyclicity.
+     * @param seed Random seed; the same seed always gives the same graph.
+     * @return Weighted CSR graph with weights in [1, 10).
+     */
+    public static CsrGraph generate(int n, Shape shape, long seed) {
+        SyntheticGraphGenerator.Spec spec = shape.acyclic
+                ? new SyntheticGraphGenerator.Spec(shape.name(), n, shape.avgOutDegree,
+                        Math.max(1, n / 64), 4, 0.0, SyntheticGraphGenerator.SccSizes.UNIFORM, 2,
+                        SyntheticGraphGenerator.Weights.UNIFORM, 1.0, 10.0, seed)
+                : new SyntheticGraphGenerator.Spec(shape.name(), n, shape.avgOutDegree,
+                        Math.min(16, n), 2, 0.9, SyntheticGraphGenerator.SccSizes.POWER_LAW, 10_000,
+                        SyntheticGraphGenerator.Weights.UNIFORM, 1.0, 10.0, seed);
+        return SyntheticGraphGenerator.generateCsr(spec);
+    }
+}
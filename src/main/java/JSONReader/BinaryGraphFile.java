@@ -0,0 +1,356 @@
+package JSONReader;
+
+import graphs.csr.CsrGraph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary graph format with memory-mapped loading.
+ *
+ * Layout (little-endian):
+ * - file header: magic "GRPH" (int), version (int), graph count (int), reserved (int)
+ * - per graph:
+ *   - n, m, edgesCount, source, flags (ints); flags: 1 = isDAG present, 2 = isDAG value, 4 = source present
+ *   - id length, density length (-1 = absent), then UTF-8 bytes of id and density
+ *   - padding to 8 bytes
+ *   - CSR offsets int[n + 1], targets int[m], padding to 8 bytes, weights double[m]
+ *
+ * Loading maps the file with FileChannel.map and bulk-copies each array region into
+ * heap CSR arrays: no parsing, one bulk copy per array (a full copy, not a zero-copy view).
+ * Headers and CSR structure are checked while loading, so a damaged file fails with
+ * IllegalArgumentException instead of later inside the algorithms.
+ *
+ * Files are written to a sibling temp file and moved into place only once complete,
+ * so a failed or interrupted conversion never leaves a readable partial file.
+ */
+public final class BinaryGraphFile {
+    private static final int MAGIC = 0x48505247; // "GRPH" read as little-endian int
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 16;
+    private static final int GRAPH_HEADER_BYTES = 28;
+    // mapping window for bulk copies; keeps every MappedByteBuffer well under 2 GB
+    private static final int WINDOW_BYTES = 1 << 30;
+
+    private static final int FLAG_DAG_PRESENT = 1;
+    private static final int FLAG_DAG_VALUE = 2;
+    private static final int FLAG_SOURCE_PRESENT = 4;
+
+    private BinaryGraphFile() { }
+
+    /**
+     * Converts a JSON dataset to the binary format, streaming one graph at a time.
+     * @param json Input file in JsonGraphReader format.
+     * @param bin Output binary file (overwritten).
+     * @return Number of graphs written.
+     * @throws IOException if reading or writing fails.
+     */
+    public static int convert(Path json, Path bin) throws IOException {
+        try (Writer w = new Writer(bin)) {
+            JsonGraphReader.stream(json, w::write);
+            w.commit();
+            return w.count;
+        }
+    }
+
+    /**
+     * Writes graphs to a binary file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(List<JsonGraphReader.SingleGraph> graphs, Path bin) throws IOException {
+        try (Writer w = new Writer(bin)) {
+            for (JsonGraphReader.SingleGraph g : graphs) {
+                w.write(g);
+            }
+            w.commit();
+        }
+    }
+
+    /**
+     * Reads all graphs from a binary file.
+     * @throws IOException if file cannot be read or is not in this format.
+     */
+    public static List<JsonGraphReader.SingleGraph> readMany(Path bin) throws IOException {
+        List<JsonGraphReader.SingleGraph> result = new ArrayList<>();
+        stream(bin, result::add);
+        return result;
+    }
+
+    /**
+     * Loads graphs one at a time and hands each to the consumer.
+     * @throws IOException if file cannot be read or the consumer fails.
+     * @throws IllegalArgumentException if the file is not in this format or is damaged.
+     */
+    public static void stream(Path bin, JsonGraphReader.GraphConsumer consumer) throws IOException {
+        try (FileChannel ch = FileChannel.open(bin, StandardOpenOption.READ)) {
+            Mapping mapping = new Mapping(ch);
+            ByteBuffer header = mapping.view(0, FILE_HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary graph file: " + bin);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary graph version: " + version);
+            }
+            int count = header.getInt();
+            if (count < 0) {
+                throw damaged(bin, "negative graph count");
+            }
+
+            long pos = FILE_HEADER_BYTES;
+            for (int i = 0; i < count; i++) {
+                mapping.require(bin, pos, GRAPH_HEADER_BYTES);
+                ByteBuffer gh = mapping.view(pos, GRAPH_HEADER_BYTES);
+                int n = gh.getInt();
+                int m = gh.getInt();
+                int edgesCount = gh.getInt();
+                int source = gh.getInt();
+                int flags = gh.getInt();
+                int idLen = gh.getInt();
+                int densityLen = gh.getInt();
+                pos += GRAPH_HEADER_BYTES;
+                if (n < 0 || m < 0 || idLen < 0 || densityLen < -1) {
+                    throw damaged(bin, "negative size in header of graph " + i);
+                }
+                mapping.require(bin, pos, (long) idLen + Math.max(densityLen, 0));
+
+                String id = mapping.readString(pos, idLen);
+                pos += idLen;
+                String density = densityLen < 0 ? null : mapping.readString(pos, densityLen);
+                pos = align8(pos + Math.max(densityLen, 0));
+
+                mapping.require(bin, pos, 4L * (n + 1) + 4L * m);
+                int[] offsets = new int[n + 1];
+                mapping.readInts(pos, offsets);
+                pos += 4L * (n + 1);
+                int[] targets = new int[m];
+                mapping.readInts(pos, targets);
+                pos = align8(pos + 4L * m);
+                mapping.require(bin, pos, 8L * m);
+                double[] weights = new double[m];
+                mapping.readDoubles(pos, weights);
+                pos += 8L * m;
+                checkCsr(bin, id, n, offsets, targets);
+
+                Boolean isDag = (flags & FLAG_DAG_PRESENT) != 0 ? (flags & FLAG_DAG_VALUE) != 0 : null;
+                Integer src = (flags & FLAG_SOURCE_PRESENT) != 0 ? source : null;
+                consumer.accept(new JsonGraphReader.SingleGraph(
+                        id, n, new CsrGraph(n, offsets, targets, weights), edgesCount, density, isDag, src));
+            }
+        }
+    }
+
+    // offsets must run from 0 to m without decreasing and every target must be a vertex
+    private static void checkCsr(Path bin, String id, int n, int[] offsets, int[] targets) {
+        if (offsets[0] != 0 || offsets[n] != targets.length) {
+            throw damaged(bin, "bad offsets in graph " + id);
+        }
+        for (int u = 0; u < n; u++) {
+            if (offsets[u] > offsets[u + 1]) {
+                throw damaged(bin, "bad offsets in graph " + id);
+            }
+        }
+        for (int t : targets) {
+            if (t < 0 || t >= n) {
+                throw damaged(bin, "edge target out of range in graph " + id + ": " + t);
+            }
+        }
+    }
+
+    private static IllegalArgumentException damaged(Path bin, String reason) {
+        return new IllegalArgumentException("Damaged binary graph file " + bin + ": " + reason);
+    }
+
+    /**
+     * Command-line converter: BinaryGraphFile input.json output.bin
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BinaryGraphFile <input.json> <output.bin>");
+            return;
+        }
+        int count = convert(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + count + " graph(s) to " + args[1]);
+    }
+
+    /**
+     * Maps the whole file once when it fits in one window (the common case),
+     * otherwise maps each requested region on demand.
+     */
+    private static final class Mapping {
+        private final FileChannel ch;
+        private final MappedByteBuffer whole;
+
+        private final long size;
+
+        Mapping(FileChannel ch) throws IOException {
+            this.ch = ch;
+            this.size = ch.size();
+            this.whole = size <= WINDOW_BYTES ? ch.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+        }
+
+        // fails if the file ends before pos + bytes
+        void require(Path bin, long pos, long bytes) {
+            if (pos + bytes > size) {
+                throw damaged(bin, "truncated at byte " + size);
+            }
+        }
+
+        ByteBuffer view(long pos, long size) throws IOException {
+            ByteBuffer buf = whole != null
+                    ? whole.slice((int) pos, (int) size)
+                    : ch.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            return buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        String readString(long pos, int len) throws IOException {
+            byte[] bytes = new byte[len];
+            if (len > 0) {
+                view(pos, len).get(bytes);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void readInts(long pos, int[] dst) throws IOException {
+            int perWindow = WINDOW_BYTES / 4;
+            for (int off = 0; off < dst.length; off += perWindow) {
+                int len = Math.min(perWindow, dst.length - off);
+                view(pos + 4L * off, 4L * len).asIntBuffer().get(dst, off, len);
+            }
+        }
+
+        void readDoubles(long pos, double[] dst) throws IOException {
+            int perWindow = WINDOW_BYTES / 8;
+            for (int off = 0; off < dst.length; off += perWindow) {
+                int len = Math.min(perWindow, dst.length - off);
+                view(pos + 8L * off, 8L * len).asDoubleBuffer().get(dst, off, len);
+            }
+        }
+    }
+
+    private static long align8(long pos) {
+        return (pos + 7) & ~7L;
+    }
+
+    /**
+     * Sequential writer into a sibling temp file. commit() patches the graph count into
+     * the header and moves the file into place; closing without commit() deletes it.
+     */
+    private static final class Writer implements AutoCloseable {
+        private final Path bin;
+        private final Path tmp;
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long pos;
+        private int count;
+        private boolean committed;
+
+        Writer(Path bin) throws IOException {
+            this.bin = bin;
+            this.tmp = bin.resolveSibling(bin.getFileName() + "." + Thread.currentThread().threadId() + ".tmp");
+            ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0);
+        }
+
+        void write(JsonGraphReader.SingleGraph g) throws IOException {
+            CsrGraph csr = g.graph();
+            byte[] id = g.id().getBytes(StandardCharsets.UTF_8);
+            byte[] density = g.density() == null ? null : g.density().getBytes(StandardCharsets.UTF_8);
+            int flags = 0;
+            if (g.isDag() != null) {
+                flags |= FLAG_DAG_PRESENT;
+                if (g.isDag()) flags |= FLAG_DAG_VALUE;
+            }
+            if (g.source() != null) flags |= FLAG_SOURCE_PRESENT;
+
+            ensure(GRAPH_HEADER_BYTES);
+            buf.putInt(csr.nodes())
+                    .putInt(csr.edges())
+                    .putInt(g.edgesCount() != null ? g.edgesCount() : csr.edges())
+                    .putInt(g.source() != null ? g.source() : 0)
+                    .putInt(flags)
+                    .putInt(id.length)
+                    .putInt(density == null ? -1 : density.length);
+            putBytes(id);
+            if (density != null) putBytes(density);
+            pad8();
+
+            for (int v : csr.offsets()) {
+                ensure(4);
+                buf.putInt(v);
+            }
+            for (int v : csr.targets()) {
+                ensure(4);
+                buf.putInt(v);
+            }
+            pad8();
+            for (int e = 0; e < csr.edges(); e++) {
+                ensure(8);
+                buf.putDouble(csr.weight(e));
+            }
+            count++;
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            for (byte b : bytes) {
+                ensure(1);
+                buf.put(b);
+            }
+        }
+
+        private void pad8() throws IOException {
+            while (((pos + buf.position()) & 7) != 0) {
+                ensure(1);
+                buf.put((byte) 0);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                pos += ch.write(buf);
+            }
+            buf.clear();
+        }
+
+        /**
+         * Completes the file and atomically replaces bin with it.
+         */
+        void commit() throws IOException {
+            flush();
+            ByteBuffer countBuf = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(count);
+            countBuf.flip();
+            ch.write(countBuf, 8);
+            ch.close();
+            Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                try {
+                    ch.close();
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package JSONReader;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import graphs.csr.CsrGraph;
 import graphs.dagsp.DagShortestPaths;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -28,6 +31,12 @@ import java.util.List;
  * - "source": integer (source vertex for shortest path queries, default 0)
  *
  * Weight model: Weights are assigned to edges (via "w" field), not vertices.
+ *
+ * Two loading modes:
+ * - readMany(): reads the whole file into a JsonNode tree (simple, small inputs)
+ * - stream(): token-level streaming; edges go straight into a CSR builder and each
+ *   graph is handed to the consumer as soon as its object closes, so peak memory
+ *   is one graph rather than the whole file
  */
 public final class JsonGraphReader {
     private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -55,6 +64,139 @@ public final class JsonGraphReader {
         return result;
     }
 
+    /**
+     * Streams graphs from a JSON file without building a JsonNode tree.
+     * Accepts the same formats and applies the same validation as readMany().
+     * @param file Path to JSON file.
+     * @param consumer Receives each graph as soon as it has been parsed.
+     * @throws IOException if file cannot be read, JSON is malformed, or the consumer fails.
+     */
+    public static void stream(Path file, GraphConsumer consumer) throws IOException {
+        try (JsonParser p = MAPPER.getFactory().createParser(file.toFile())) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Root must be a JSON object");
+            }
+            // the root is either a graph itself or a wrapper with a "graphs" array
+            GraphFields root = new GraphFields();
+            boolean wrapper = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("graphs".equals(field)) {
+                    if (p.currentToken() != JsonToken.START_ARRAY) {
+                        throw new IllegalArgumentException("'graphs' must be an array");
+                    }
+                    wrapper = true;
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(parseOneStreaming(p));
+                    }
+                } else if (!wrapper) {
+                    root.read(field, p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!wrapper) {
+                consumer.accept(root.toGraph());
+            }
+        }
+    }
+
+    /**
+     * Parses one graph object; the parser is positioned on its START_OBJECT.
+     */
+    private static SingleGraph parseOneStreaming(JsonParser p) throws IOException {
+        GraphFields fields = new GraphFields();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            fields.read(field, p);
+        }
+        return fields.toGraph();
+    }
+
+    /**
+     * Graph fields collected while streaming. Fields may come in any order,
+     * so endpoint range checks are repeated at build time when "nodes" follows "edges".
+     */
+    private static final class GraphFields {
+        String id = "no-id";
+        Integer nodes;
+        Integer edgesCount;
+        String density;
+        Boolean isDag;
+        Integer source;
+        CsrGraph.Builder edges;
+
+        void read(String field, JsonParser p) throws IOException {
+            switch (field) {
+                case "id" -> id = p.getValueAsString();
+                case "nodes" -> {
+                    if (p.currentToken() != JsonToken.VALUE_NUMBER_INT
+                            || p.getNumberType() != JsonParser.NumberType.INT) {
+                        throw new IllegalArgumentException("Missing or invalid 'nodes' field");
+                    }
+                    nodes = p.getIntValue();
+                }
+                case "edgesCount" -> edgesCount = p.getValueAsInt();
+                case "density" -> density = p.getValueAsString();
+                case "isDAG" -> isDag = p.getValueAsBoolean();
+                case "source" -> source = p.getValueAsInt();
+                case "edges" -> readEdges(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        private void readEdges(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Missing or invalid 'edges' array");
+            }
+            edges = new CsrGraph.Builder();
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                Integer from = null;
+                Integer to = null;
+                double w = 1.0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "from" -> from = p.getValueAsInt();
+                        case "to" -> to = p.getValueAsInt();
+                        case "w" -> w = p.getValueAsDouble();
+                        default -> p.skipChildren();
+                    }
+                }
+                if (from == null || to == null) {
+                    throw new IllegalArgumentException("Edge missing 'from' or 'to' field");
+                }
+                if (nodes != null && (from < 0 || from >= nodes || to < 0 || to >= nodes)) {
+                    throw new IllegalArgumentException(
+                            String.format("Edge endpoint out of range: %d -> %d (graph has %d nodes)", from, to, nodes));
+                }
+                edges.addEdge(from, to, w);
+            }
+        }
+
+        SingleGraph toGraph() {
+            if (nodes == null) {
+                throw new IllegalArgumentException("Missing or invalid 'nodes' field");
+            }
+            if (edges == null) {
+                throw new IllegalArgumentException("Missing or invalid 'edges' array");
+            }
+            int count = edgesCount != null ? edgesCount : edges.edgeCount();
+            return new SingleGraph(id, nodes, edges.build(nodes), count, density, isDag, source);
+        }
+    }
+
+    /**
+     * Receives graphs from stream(); may throw IOException (e.g. when writing results).
+     */
+    @FunctionalInterface
+    public interface GraphConsumer {
+        void accept(SingleGraph graph) throws IOException;
+    }
+
     private static SingleGraph parseOne(JsonNode g) {
         if (!g.has("nodes") || !g.get("nodes").isInt()) {
             throw new IllegalArgumentException("Missing or invalid 'nodes' field");
@@ -70,15 +212,9 @@ public final class JsonGraphReader {
         Boolean isDag = g.has("isDAG") ? g.get("isDAG").asBoolean() : null;
         Integer source = g.has("source") ? g.get("source").asInt() : null;
 
-        List<List<Integer>> adj = new ArrayList<>(n);
-        List<List<DagShortestPaths.Edge>> wadj = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) {
-            adj.add(new ArrayList<>());
-            wadj.add(new ArrayList<>());
-        }
-
-        int actualEdges = 0;
-        for (JsonNode e : g.withArray("edges")) {
+        JsonNode edges = g.withArray("edges");
+        CsrGraph.Builder builder = new CsrGraph.Builder(edges.size());
+        for (JsonNode e : edges) {
             if (!e.has("from") || !e.has("to")) {
                 throw new IllegalArgumentException("Edge missing 'from' or 'to' field");
             }
@@ -92,16 +228,14 @@ public final class JsonGraphReader {
             }
 
             double w = e.has("w") ? e.get("w").asDouble() : 1.0;
-            adj.get(from).add(to);
-            wadj.get(from).add(new DagShortestPaths.Edge(to, w));
-            actualEdges++;
+            builder.addEdge(from, to, w);
         }
 
         if (edgesCount == null) {
-            edgesCount = actualEdges;
+            edgesCount = builder.edgeCount();
         }
 
-        return new SingleGraph(id, n, adj, wadj, edgesCount, density, isDag, source);
+        return new SingleGraph(id, n, builder.build(n), edgesCount, density, isDag, source);
     }
 
     /**
@@ -109,8 +243,7 @@ public final class JsonGraphReader {
      *
      * @param id Graph identifier
      * @param nodes Number of vertices
-     * @param adj Unweighted adjacency list (for SCC, topological sort)
-     * @param weightedAdj Weighted adjacency list (for DAG shortest/longest paths)
+     * @param graph Weighted CSR graph (edges in input order per vertex)
      * @param edgesCount Total number of edges
      * @param density Graph density metric (optional)
      * @param isDag True if graph is known to be acyclic (optional)
@@ -119,11 +252,24 @@ public final class JsonGraphReader {
     public record SingleGraph(
             String id,
             int nodes,
-            List<List<Integer>> adj,
-            List<List<DagShortestPaths.Edge>> weightedAdj,
+            CsrGraph graph,
             Integer edgesCount,
             String density,
             Boolean isDag,
             Integer source
-    ) { }
+    ) {
+        /**
+         * Unweighted adjacency list view over {@link #graph()} (for SCC, topological sort).
+         */
+        public List<List<Integer>> adj() {
+            return graph.adjacencyView();
+        }
+
+        /**
+         * Weighted adjacency list view over {@link #graph()} (for DAG shortest/longest paths).
+         */
+        public List<List<DagShortestPaths.Edge>> weightedAdj() {
+            return DagShortestPaths.weightedAdjacencyView(graph);
+        }
+    }
 }
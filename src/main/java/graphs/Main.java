@@ -1,15 +1,25 @@
 package graphs;
 
+import JSONReader.BinaryGraphFile;
 import JSONReader.JsonGraphReader;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import graphs.cache.GraphAnalysis;
+import graphs.cache.ResultCache;
+import graphs.csr.CsrGraph;
 import graphs.dagsp.DagShortestPaths;
-import graphs.scc.TarjanSCC;
-import graphs.topo.KahnTopologicalSort;
+import graphs.output.GraphResult;
+import graphs.output.ResultWriter;
+import graphs.scc.CondensationBuilder;
+import metrics.MetricsCsvSink;
 import metrics.MetricsTracker;
+import metrics.Phase;
+import metrics.PhaseSummary;
+import metrics.PipelineStats;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Main entry point for Assignment 4.
@@ -17,11 +27,44 @@ import java.util.*;
  *  1) always does SCC
  *  2) builds condensation DAG
  *  3) topo + DAG-SP run on condensation, so cycles do not break pipeline
+ * DAG fast path (opt-in, --dag-fast-path): a graph not declared cyclic (isDAG != false) and
+ * without parallel edges is first sorted with Kahn; if it is acyclic, SCC and condensation are
+ * skipped (every vertex is its own component) and the paths run on the original graph. Results
+ * are identical, but the published counters are not (no DFS), so it is off by default.
+ * Cyclic graphs fall back to the full pipeline.
+ *
+ * Options:
+ *  --streaming   read inputs with the streaming JSON parser (one graph in memory at a time)
+ *  --binary      read inputs from memory-mapped binary files (data/*.bin), converting
+ *                from JSON first when the .bin file is missing or older than the .json
+ *  --parallel[=N] run each graph's pipeline on a pool of N platform threads (default: CPU count);
+ *                 graphs of a file overlap with its parsing and with writing earlier results
+ *  --virtual      with --parallel, use virtual threads (N bounds graphs running or
+ *                 waiting to be written)
+ *  --parallel-edges=first|min|max  weight of a condensation edge that several original
+ *                 edges map onto (default: first, the first edge seen)
+ *  --scc=tarjan|trimmed|parallel  SCC algorithm: sequential Tarjan (default), Tarjan after
+ *                 peeling trivial SCCs, or the multi-threaded forward-backward engine (same
+ *                 output and counters)
+ *  --dag-fast-path  skip SCC + condensation on graphs found to be acyclic (changes dfsOps
+ *                 and edgeOps in the output)
+ *  --cache        keep SCC/condensation/topo/path results in memory, keyed by graph content,
+ *                 so graphs repeated across inputs are computed once
+ *  --cache-size=N maximum number of cached graphs in memory (default: 64)
+ *  --cache-dir=D  also store results under D, so later runs over unchanged inputs skip
+ *                 recomputation (implies --cache)
+ *  --output=pretty|compact|ndjson  result format: indented JSON (default), JSON without
+ *                 whitespace, or one graph object per line in data/*-output.ndjson;
+ *                 every graph is written as soon as its result is available
+ * Output JSON and CSV rows keep input order regardless of the mode.
+ * Each graph's phases (parse, scc, condensation, topo, shortest, longest, write) are timed
+ * separately: per graph in metrics.csv and the output JSON, and as percentiles over all
+ * graphs in data/metrics-summary.csv.
+ * While running, every timed phase is a JFR event "graphs.Phase" (record with
+ * -XX:StartFlightRecording) and running totals are exposed over JMX as graphs:type=PipelineStats.
  */
 public class Main {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
     public static void main(String[] args) throws Exception {
         Path dataDir = Path.of("data");
         if (!Files.exists(dataDir)) {
@@ -29,159 +72,301 @@ public class Main {
             return;
         }
 
+        List<String> options = Arrays.asList(args);
+        InputMode mode = options.contains("--binary") ? InputMode.BINARY
+                : options.contains("--streaming") ? InputMode.STREAMING
+                : InputMode.TREE;
+        PipelineConfig config = new PipelineConfig(
+                CondensationBuilder.ParallelEdgePolicy.valueOf(
+                        optionValue(options, "--parallel-edges", "first").toUpperCase()),
+                GraphAnalysis.SccEngine.valueOf(optionValue(options, "--scc", "tarjan").toUpperCase()),
+                options.contains("--dag-fast-path"),
+                createCache(options));
+
+        ResultWriter.Format format = ResultWriter.Format.valueOf(
+                optionValue(options, "--output", "pretty").toUpperCase());
+
         Path csv = dataDir.resolve("metrics.csv");
         Files.deleteIfExists(csv);
+        MetricsCsvSink metricsSink = new MetricsCsvSink(csv, 256);
+        PhaseSummary summary = new PhaseSummary();
 
         List<String> inputs = List.of("small.json", "medium.json", "large.json");
-        for (String name : inputs) {
-            Path in = dataDir.resolve(name);
-            if (Files.exists(in)) {
-                processOneFile(in, csv);
-            } else {
-                System.out.println("Skipping missing file: " + name);
+        try (PipelineExecutor executor = createExecutor(options); metricsSink;
+             PipelineStats stats = PipelineStats.register()) {
+            for (String name : inputs) {
+                Path in = dataDir.resolve(name);
+                if (Files.exists(in)) {
+                    processFile(in, mode, config, executor, stats,
+                            new FileOutput(in, format, executor, metricsSink, summary, stats));
+                } else {
+                    System.out.println("Skipping missing file: " + name);
+                }
             }
         }
-        System.out.println("Metrics saved to data/metrics.csv");
-        System.out.println("Results saved to data/*-output.json");
+        summary.writeCsv(dataDir.resolve("metrics-summary.csv"));
+        System.out.println("Metrics saved to data/metrics.csv (phase percentiles in data/metrics-summary.csv)");
+        System.out.println("Results saved to data/" + format.outputName("*.json"));
     }
 
-    private static void processOneFile(Path inputFile, Path csv) throws IOException {
-        List<JsonGraphReader.SingleGraph> graphs = JsonGraphReader.readMany(inputFile);
-        List<Map<String, Object>> outGraphs = new ArrayList<>();
-
-        for (JsonGraphReader.SingleGraph g : graphs) {
-            MetricsTracker m = new MetricsTracker();
-            Map<String, Object> gRes = new LinkedHashMap<>();
-
-            gRes.put("id", g.id());
-            gRes.put("nodes", g.nodes());
-            gRes.put("edgesCount", g.edgesCount());
-            if (g.density() != null) gRes.put("density", g.density());
-            if (g.isDag() != null) gRes.put("isDAG_input", g.isDag());
-
-            // 1) SCC
-            TarjanSCC tarjan = new TarjanSCC(g.adj());
-            List<List<Integer>> scc = tarjan.run(m);
-            gRes.put("sccCount", scc.size());
-            gRes.put("scc", scc);
-
-            int[] compId = tarjan.getComponentIds();
-            List<List<Integer>> condAdj = tarjan.buildCondensation();
-            gRes.put("condensationAdj", condAdj);
-
-            // 2) topo over condensation DAG
-            List<Integer> topoCond = KahnTopologicalSort.sort(condAdj, m);
-            gRes.put("condensationTopo", topoCond);
-
-            // derive order of original vertices according to SCC topo
-            List<Integer> derivedOrder = new ArrayList<>();
-            for (int cid : topoCond) {
-                List<Integer> verts = new ArrayList<>(scc.get(cid));
-                Collections.sort(verts);
-                derivedOrder.addAll(verts);
-            }
-            gRes.put("derivedVertexOrder", derivedOrder);
-
-            // 3) build weighted condensation and run DAG-SP on it
-            List<List<DagShortestPaths.Edge>> weightedCond =
-                    buildWeightedCondensation(g.weightedAdj(), compId, scc.size());
-
-            int srcVertex = (g.source() != null) ? g.source() : 0;
-            int srcComp = compId[srcVertex];
-            gRes.put("sourceVertex", srcVertex);
-            gRes.put("sourceComponent", srcComp);
-
-            // shortest with parent
-            int[] spParent = new int[weightedCond.size()];
-            double[] spDist = DagShortestPaths.shortest(weightedCond, topoCond, srcComp, m, spParent);
-            gRes.put("shortestFromComponent", toList(spDist));
-
-            // reconstruct one shortest path: to last component in topo
-            int targetComp = topoCond.get(topoCond.size() - 1);
-            List<Integer> shortestPathCond = DagShortestPaths.reconstructPath(spParent, targetComp);
-            gRes.put("shortestPathCondensed_src" + srcComp + "_to_" + targetComp, shortestPathCond);
-
-            // longest (critical path) on condensation
-            int[] lpParent = new int[weightedCond.size()];
-            double[] lpDist = DagShortestPaths.longest(weightedCond, topoCond, srcComp, m, lpParent);
-            gRes.put("criticalPathDistances", toList(lpDist));
-
-            int best = 0;
-            for (int i = 1; i < lpDist.length; i++) {
-                if (lpDist[i] > lpDist[best]) best = i;
-            }
-            List<Integer> criticalPathCond = DagShortestPaths.reconstructPath(lpParent, best);
-            gRes.put("criticalPathCondensed", criticalPathCond);
-            gRes.put("criticalPathLength", lpDist[best]);
+    /**
+     * How input graphs are loaded.
+     */
+    private enum InputMode { TREE, STREAMING, BINARY }
 
-            // metrics
-            gRes.put("elapsedMs", m.getElapsedMs());
-            gRes.put("dfsOps", m.getDfsOps());
-            gRes.put("edgeOps", m.getEdgeOps());
-            gRes.put("topoOps", m.getTopoOps());
-            gRes.put("relaxOps", m.getRelaxOps());
+    /**
+     * Settings of the per-graph pipeline.
+     *
+     * @param parallelEdges Weight rule for parallel condensation edges
+     * @param sccEngine SCC algorithm
+     * @param dagFastPath Try the DAG fast path on graphs not declared cyclic (--dag-fast-path)
+     * @param cache Result cache (disabled unless --cache or --cache-dir is given)
+     */
+    private record PipelineConfig(CondensationBuilder.ParallelEdgePolicy parallelEdges,
+                                  GraphAnalysis.SccEngine sccEngine, boolean dagFastPath, ResultCache cache) { }
 
-            // CSV
-            appendMetricsToCsv(csv, inputFile.getFileName().toString(), g.id(), m);
+    /**
+     * Result of one graph's pipeline: output JSON fields plus its own metrics.
+     */
+    private record GraphOutcome(String graphId, GraphResult result, MetricsTracker metrics) { }
 
-            outGraphs.add(gRes);
+    /**
+     * Value of a --name=value option, or the default when absent.
+     */
+    private static String optionValue(List<String> options, String name, String defaultValue) {
+        for (String opt : options) {
+            if (opt.startsWith(name + "=")) {
+                return opt.substring(name.length() + 1);
+            }
         }
+        return defaultValue;
+    }
 
-        Map<String, Object> root = new LinkedHashMap<>();
-        root.put("inputFile", inputFile.getFileName().toString());
-        root.put("graphs", outGraphs);
+    private static ResultCache createCache(List<String> options) {
+        String dir = optionValue(options, "--cache-dir", null);
+        if (!options.contains("--cache") && dir == null) {
+            return ResultCache.disabled();
+        }
+        int capacity = Integer.parseInt(optionValue(options, "--cache-size", "64"));
+        return new ResultCache(capacity, dir == null ? null : Path.of(dir));
+    }
 
-        String outName = inputFile.getFileName().toString().replace(".json", "-output.json");
-        Path outFile = inputFile.getParent().resolve(outName);
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(outFile.toFile(), root);
+    private static PipelineExecutor createExecutor(List<String> options) {
+        for (String opt : options) {
+            if (opt.equals("--parallel") || opt.startsWith("--parallel=")) {
+                int threads = opt.contains("=")
+                        ? Integer.parseInt(opt.substring(opt.indexOf('=') + 1))
+                        : Runtime.getRuntime().availableProcessors();
+                return options.contains("--virtual")
+                        ? PipelineExecutor.virtual(threads)
+                        : PipelineExecutor.platform(threads);
+            }
+        }
+        return PipelineExecutor.serial();
     }
 
-    private static List<List<DagShortestPaths.Edge>> buildWeightedCondensation(
-            List<List<DagShortestPaths.Edge>> wAdj,
-            int[] compId,
-            int compCount
-    ) {
-        List<Set<Integer>> seen = new ArrayList<>(compCount);
-        List<List<DagShortestPaths.Edge>> res = new ArrayList<>(compCount);
-        for (int i = 0; i < compCount; i++) {
-            seen.add(new HashSet<>());
-            res.add(new ArrayList<>());
-        }
-        for (int u = 0; u < wAdj.size(); u++) {
-            int cu = compId[u];
-            for (DagShortestPaths.Edge e : wAdj.get(u)) {
-                int cv = compId[e.to];
-                if (cu == cv) continue;
-                // avoid duplicates
-                if (seen.get(cu).add(cv)) {
-                    res.get(cu).add(new DagShortestPaths.Edge(cv, e.weight));
+    /**
+     * Parses one input file and schedules each graph's pipeline as soon as the graph is read.
+     * Finished results are written (in input order) while later graphs are still being parsed
+     * or processed; the rest is written once the file is read.
+     */
+    private static void processFile(Path inputFile, InputMode mode, PipelineConfig config,
+                                    PipelineExecutor executor, PipelineStats stats,
+                                    FileOutput output) throws IOException {
+        try (output) {
+            // parse time of a graph = time the reader took to deliver it after the previous one
+            // (with the tree reader, the first graph carries the parse of the whole document)
+            MetricsTracker[] next = {parsing()};
+            JsonGraphReader.GraphConsumer submit = g -> {
+                MetricsTracker m = next[0];
+                m.describe(g.id(), g.nodes(), g.graph().edges());
+                m.stopPhase(Phase.PARSE);
+                // every pending result holds an executor slot: free one by writing the oldest
+                while (!executor.hasCapacity()) {
+                    output.writeNext();
                 }
+                output.add(executor.submit(() -> {
+                    GraphOutcome outcome = processGraph(g, config, m);
+                    stats.record(m); // live over JMX while earlier results are still being written
+                    return outcome;
+                }));
+                output.writeReady();
+                next[0] = parsing();
+            };
+
+            switch (mode) {
+                case STREAMING -> JsonGraphReader.stream(inputFile, submit);
+                case BINARY -> BinaryGraphFile.stream(binaryFor(inputFile), submit);
+                default -> {
+                    for (JsonGraphReader.SingleGraph g : JsonGraphReader.readMany(inputFile)) {
+                        submit.accept(g);
+                    }
+                }
+            }
+            output.writeAll();
+        }
+    }
+
+    /**
+     * Output of one input file: the result writer plus the graphs whose results are not
+     * written yet, in input order. Each result is dropped once written.
+     */
+    private static final class FileOutput implements AutoCloseable {
+        private final String inputName;
+        private final ResultWriter out;
+        private final PipelineExecutor executor;
+        private final MetricsCsvSink csv;
+        private final PhaseSummary summary;
+        private final PipelineStats stats;
+        private final ArrayDeque<CompletableFuture<GraphOutcome>> pending = new ArrayDeque<>();
+
+        FileOutput(Path inputFile, ResultWriter.Format format, PipelineExecutor executor, MetricsCsvSink csv,
+                   PhaseSummary summary, PipelineStats stats) throws IOException {
+            this.inputName = inputFile.getFileName().toString();
+            this.out = ResultWriter.open(inputFile.resolveSibling(format.outputName(inputName)), inputName, format);
+            this.executor = executor;
+            this.csv = csv;
+            this.summary = summary;
+            this.stats = stats;
+        }
+
+        void add(CompletableFuture<GraphOutcome> graph) {
+            pending.addLast(graph);
+        }
+
+        /**
+         * Writes the finished results at the head of the queue without waiting for others.
+         */
+        void writeReady() throws IOException {
+            while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+                writeNext();
             }
         }
-        return res;
+
+        /**
+         * Waits for and writes every pending result.
+         */
+        void writeAll() throws IOException {
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+        }
+
+        /**
+         * Waits for the oldest pending result, writes it and frees its executor slot.
+         */
+        void writeNext() throws IOException {
+            try {
+                GraphOutcome outcome = await(pending.removeFirst());
+                MetricsTracker m = outcome.metrics();
+                m.startPhase(Phase.WRITE);
+                out.write(outcome.result());
+                m.stopPhase(Phase.WRITE);
+                csv.append(inputName, outcome.graphId(), m);
+                summary.record(m);
+                stats.addPhaseNanos(Phase.WRITE, m.getPhaseNanos(Phase.WRITE));
+            } finally {
+                executor.release();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Waits for a graph result, rethrowing pipeline failures unwrapped.
+     */
+    private static GraphOutcome await(CompletableFuture<GraphOutcome> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
     }
 
-    private static void appendMetricsToCsv(Path csv, String inputFile, String graphId,
-                                           MetricsTracker m) throws IOException {
-        boolean exists = Files.exists(csv);
-        try (var writer = Files.newBufferedWriter(csv,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.APPEND)) {
-            if (!exists) {
-                writer.write("inputFile,graphId,elapsedMs,dfsOps,edgeOps,topoOps,relaxOps\n");
+    /**
+     * Returns the binary twin of a JSON input, (re)converting it when missing or stale.
+     */
+    private static Path binaryFor(Path jsonFile) throws IOException {
+        Path bin = jsonFile.resolveSibling(jsonFile.getFileName().toString().replace(".json", ".bin"));
+        if (!Files.exists(bin)
+                || Files.getLastModifiedTime(bin).compareTo(Files.getLastModifiedTime(jsonFile)) < 0) {
+            BinaryGraphFile.convert(jsonFile, bin);
+        }
+        return bin;
+    }
+
+    /**
+     * Tracker for the next graph, with its parse phase already running.
+     */
+    private static MetricsTracker parsing() {
+        MetricsTracker m = new MetricsTracker();
+        m.startPhase(Phase.PARSE);
+        return m;
+    }
+
+    private static GraphOutcome processGraph(JsonGraphReader.SingleGraph g, PipelineConfig config, MetricsTracker m) {
+        // 1) SCC + condensation + topo (served from the cache when the graph is unchanged)
+        boolean tryDag = config.dagFastPath() && !Boolean.FALSE.equals(g.isDag());
+        GraphAnalysis analysis = config.cache().analysis(g.graph(), config.parallelEdges(), config.sccEngine(),
+                tryDag, m);
+        List<List<Integer>> scc = analysis.components();
+        int[] compId = analysis.componentId();
+        CsrGraph condAdj = analysis.condensation().dag();
+
+        // 2) topo over condensation DAG
+        int[] topoCond = analysis.topo();
+
+        // derive order of original vertices according to SCC topo
+        int[] derivedOrder = new int[g.nodes()];
+        int filled = 0;
+        for (int cid : topoCond) {
+            int from = filled;
+            for (int v : scc.get(cid)) {
+                derivedOrder[filled++] = v;
             }
-            writer.write(String.format(Locale.US, "%s,%s,%.3f,%d,%d,%d,%d%n",
-                    inputFile, graphId,
-                    m.getElapsedMs(), m.getDfsOps(), m.getEdgeOps(),
-                    m.getTopoOps(), m.getRelaxOps()));
+            Arrays.sort(derivedOrder, from, filled);
         }
+
+        // 3) DAG-SP on the weighted condensation
+        int srcVertex = (g.source() != null) ? g.source() : 0;
+        int srcComp = compId[srcVertex];
+        GraphAnalysis.SourcePaths paths = config.cache().paths(analysis, srcComp, m);
+
+        // reconstruct one shortest path: to last component in topo
+        int targetComp = topoCond[topoCond.length - 1];
+        int[] shortestPathCond = DagShortestPaths.pathTo(paths.shortestParent(), srcComp, targetComp);
+
+        // longest (critical path) on condensation
+        double[] lpDist = paths.longest();
+        int best = 0;
+        for (int i = 1; i < lpDist.length; i++) {
+            if (lpDist[i] > lpDist[best]) best = i;
+        }
+        int[] criticalPathCond = DagShortestPaths.pathTo(paths.longestParent(), srcComp, best);
+
+        GraphResult result = new GraphResult(g.id(), g.nodes(), g.edgesCount(), g.density(), g.isDag(),
+                scc, condAdj, topoCond, derivedOrder, srcVertex, srcComp,
+                paths.shortest(), targetComp, shortestPathCond,
+                lpDist, criticalPathCond, lpDist[best],
+                m.getElapsedMs(), m.getDfsOps(), m.getEdgeOps(), m.getTopoOps(), m.getRelaxOps(),
+                phaseMs(m));
+        return new GraphOutcome(g.id(), result, m);
     }
 
-    private static List<Double> toList(double[] arr) {
-        List<Double> list = new ArrayList<>(arr.length);
-        for (double d : arr) {
-            list.add(d);
+    private static double[] phaseMs(MetricsTracker m) {
+        Phase[] phases = Phase.values();
+        double[] ms = new double[phases.length];
+        for (Phase p : phases) {
+            ms[p.ordinal()] = m.getPhaseMs(p);
         }
-        return list;
+        return ms;
     }
 }
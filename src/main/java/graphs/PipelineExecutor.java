@@ -0,0 +1,118 @@
+package graphs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs per-graph pipelines either inline (serial) or on a bounded pool.
+ *
+ * The pool is bounded twice: by its thread count (platform threads) and by a
+ * semaphore on in-flight tasks, so a loader that submits faster than the pool
+ * drains blocks instead of queueing every parsed graph in memory.
+ * A task stays in flight until the caller has consumed its result and called
+ * release(), so finished results waiting to be written count against the bound too.
+ * With virtual threads the semaphore alone limits concurrency.
+ */
+final class PipelineExecutor implements AutoCloseable {
+    private final ExecutorService pool; // null = run inline
+    private final Semaphore inFlight;
+
+    private PipelineExecutor(ExecutorService pool, int maxInFlight) {
+        this.pool = pool;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    static PipelineExecutor serial() {
+        return new PipelineExecutor(null, 1);
+    }
+
+    /**
+     * @param threads Worker threads; up to 2 x threads graphs may be queued, running or
+     *                waiting to be written.
+     */
+    static PipelineExecutor platform(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        return new PipelineExecutor(Executors.newFixedThreadPool(threads), 2 * threads);
+    }
+
+    /**
+     * @param maxConcurrent Maximum number of graphs processed or waiting to be written at once.
+     */
+    static PipelineExecutor virtual(int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        return new PipelineExecutor(Executors.newVirtualThreadPerTaskExecutor(), maxConcurrent);
+    }
+
+    /**
+     * Schedules a task; blocks while the in-flight limit is reached.
+     * Serial mode runs the task immediately on the calling thread.
+     * Every submitted task must be followed by one release() once its result is consumed.
+     */
+    <T> CompletableFuture<T> submit(Callable<T> task) {
+        inFlight.acquireUninterruptibly();
+        if (pool == null) {
+            return call(task);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Ends the in-flight period of one submitted task (after its result has been consumed).
+     */
+    void release() {
+        inFlight.release();
+    }
+
+    /**
+     * @return true if submit() would not block.
+     */
+    boolean hasCapacity() {
+        return inFlight.availablePermits() > 0;
+    }
+
+    private static <T> CompletableFuture<T> call(Callable<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+    }
+
+    /**
+     * Waits for running tasks to finish; if interrupted, cancels them and keeps the
+     * interrupt status.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
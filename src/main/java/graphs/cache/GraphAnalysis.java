@@ -0,0 +1,270 @@
+package graphs.cache;
+
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.scc.CondensationBuilder;
+import graphs.scc.ParallelSCC;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import metrics.MetricsTracker;
+import metrics.Phase;
+
+/**
+ * Everything the pipeline derives from one graph: SCCs, condensation, topological
+ * order of the condensation, and path results per source component.
+ *
+ * The operation counts of the original computation are kept with the results, so a
+ * cache hit reports the same dfs/edge/topo/relax counters as a fresh run.
+ * Path results are computed lazily per source and memoized.
+ */
+public final class GraphAnalysis {
+
+    /**
+     * Algorithm used for the SCC phase. All give the same components, members and
+     * componentId, and report the same dfs/edge counters.
+     */
+    public enum SccEngine { TARJAN, TRIMMED, PARALLEL }
+
+    /**
+     * Shortest and longest paths on the weighted condensation from one source component.
+     *
+     * @param relaxOps Relaxations the two passes performed when first computed.
+     */
+    public record SourcePaths(double[] shortest, int[] shortestParent,
+                              double[] longest, int[] longestParent, long relaxOps) { }
+
+    private final String key;
+    private final List<List<Integer>> components;
+    private final int[] componentId;
+    private final CondensationBuilder.Condensation condensation;
+    private final int[] topo;
+    private final long dfsOps;
+    private final long edgeOps;
+    private final long topoOps;
+    private final Map<Integer, SourcePaths> paths = new ConcurrentHashMap<>();
+
+    GraphAnalysis(String key, List<List<Integer>> components, int[] componentId,
+                  CondensationBuilder.Condensation condensation, int[] topo,
+                  long dfsOps, long edgeOps, long topoOps) {
+        this.key = key;
+        this.components = components;
+        this.componentId = componentId;
+        this.condensation = condensation;
+        this.topo = topo;
+        this.dfsOps = dfsOps;
+        this.edgeOps = edgeOps;
+        this.topoOps = topoOps;
+    }
+
+    /**
+     * Runs Tarjan, builds the condensation and sorts it topologically
+     * (timed as the SCC, CONDENSATION and TOPO phases of m).
+     * @throws IllegalArgumentException if the graph is null or empty.
+     */
+    public static GraphAnalysis compute(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                        MetricsTracker m) {
+        return compute(null, g, policy, SccEngine.TARJAN, false, m);
+    }
+
+    /**
+     * Same as compute(g, policy, m) with the given SCC engine.
+     */
+    public static GraphAnalysis compute(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                        SccEngine engine, MetricsTracker m) {
+        return compute(null, g, policy, engine, false, m);
+    }
+
+    /**
+     * Same as compute(g, policy, engine, m); with dagFastPath, a graph without parallel
+     * edges is first sorted with Kahn, and if that succeeds SCC and condensation are skipped.
+     * The result is identical to the full pipeline's (see dagFastPath below).
+     */
+    public static GraphAnalysis compute(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                        SccEngine engine, boolean dagFastPath, MetricsTracker m) {
+        return compute(null, g, policy, engine, dagFastPath, m);
+    }
+
+    static GraphAnalysis compute(String key, CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                 SccEngine engine, boolean dagFastPath, MetricsTracker m) {
+        if (dagFastPath) {
+            GraphAnalysis dag = dagFastPath(key, g, m);
+            if (dag != null) {
+                return dag;
+            }
+        }
+        long dfs = m.getDfsOps();
+        long edge = m.getEdgeOps();
+        long topo = m.getTopoOps();
+
+        m.startPhase(Phase.SCC);
+        List<List<Integer>> scc;
+        int[] componentId;
+        if (engine == SccEngine.PARALLEL) {
+            ParallelSCC.Result r = ParallelSCC.run(g, m);
+            scc = r.components();
+            componentId = r.componentId();
+        } else {
+            TarjanSCC tarjan = engine == SccEngine.TRIMMED ? TarjanSCC.trimmed(g) : TarjanSCC.of(g);
+            scc = tarjan.run(m);
+            componentId = tarjan.getComponentIds();
+        }
+        m.stopPhase(Phase.SCC);
+        m.startPhase(Phase.CONDENSATION);
+        CondensationBuilder.Condensation condensation =
+                CondensationBuilder.build(g, componentId, scc.size(), policy);
+        m.stopPhase(Phase.CONDENSATION);
+        m.startPhase(Phase.TOPO);
+        int[] order = KahnTopologicalSort.sortCsr(condensation.dag(), m);
+        m.stopPhase(Phase.TOPO);
+
+        return new GraphAnalysis(key, scc, componentId, condensation, order,
+                m.getDfsOps() - dfs, m.getEdgeOps() - edge, m.getTopoOps() - topo);
+    }
+
+    /**
+     * Analysis of an acyclic graph without parallel edges, or null if g is not one.
+     *
+     * Tarjan would put every vertex in its own component (component v = {v}), and the
+     * condensation would be g itself: no edge is dropped or merged, so its weighted view
+     * has g's edges, weights and edge order, and its unweighted view is g with sorted
+     * adjacency. Kahn's min-heap order is the same on both, so one Kahn pass on g both
+     * detects the cycle-free case and yields the topological order (timed as TOPO; the
+     * trivial components and sorted adjacency are timed as CONDENSATION).
+     * The Kahn pass counts on a scratch tracker that is merged into m only if it succeeds,
+     * so a cyclic graph reports the same counters as the full pipeline alone. On success
+     * the counters only reflect the Kahn pass: no DFS runs.
+     */
+    private static GraphAnalysis dagFastPath(String key, CsrGraph g, MetricsTracker m) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
+        }
+        if (hasParallelEdges(g)) {
+            return null;
+        }
+        MetricsTracker probe = new MetricsTracker();
+        m.startPhase(Phase.TOPO);
+        m.start();
+        int[] order = KahnTopologicalSort.sortIfDag(g, probe);
+        m.stop();
+        m.stopPhase(Phase.TOPO);
+        if (order == null) {
+            return null;
+        }
+        m.merge(probe);
+
+        m.startPhase(Phase.CONDENSATION);
+        int n = g.nodes();
+        List<List<Integer>> components = new ArrayList<>(n);
+        int[] componentId = new int[n];
+        for (int v = 0; v < n; v++) {
+            List<Integer> comp = new ArrayList<>(1);
+            comp.add(v);
+            components.add(comp);
+            componentId[v] = v;
+        }
+        int[] offsets = g.offsets();
+        int[] sorted = g.targets();
+        for (int u = 0; u < n && sorted == g.targets(); u++) {
+            for (int e = offsets[u] + 1; e < offsets[u + 1]; e++) {
+                if (sorted[e - 1] > sorted[e]) {
+                    sorted = sorted.clone();
+                    break;
+                }
+            }
+        }
+        if (sorted != g.targets()) {
+            for (int u = 0; u < n; u++) {
+                Arrays.sort(sorted, offsets[u], offsets[u + 1]);
+            }
+        }
+        double[] weights = g.weights();
+        if (weights == null) {
+            weights = new double[g.edges()];
+            Arrays.fill(weights, 1.0);
+        }
+        CondensationBuilder.Condensation condensation = new CondensationBuilder.Condensation(
+                new CsrGraph(n, offsets, sorted, null), new CsrGraph(n, offsets, g.targets(), weights));
+        m.stopPhase(Phase.CONDENSATION);
+
+        return new GraphAnalysis(key, components, componentId, condensation, order,
+                0, probe.getEdgeOps(), probe.getTopoOps());
+    }
+
+    private static boolean hasParallelEdges(CsrGraph g) {
+        int n = g.nodes();
+        int[] seen = new int[n];
+        Arrays.fill(seen, -1);
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                if (seen[v] == u) {
+                    return true;
+                }
+                seen[v] = u;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Path results from a source component, computed on first request.
+     * Later requests add the stored relaxation count to m instead of relaxing again.
+     * The two passes are timed as the SHORTEST and LONGEST phases of m.
+     */
+    public SourcePaths pathsFrom(int sourceComponent, MetricsTracker m) {
+        SourcePaths cached = paths.get(sourceComponent);
+        if (cached != null) {
+            m.start();
+            m.addRelaxOps(cached.relaxOps());
+            m.stop();
+            return cached;
+        }
+        CsrGraph weighted = condensation.weighted();
+        long relax = m.getRelaxOps();
+        m.startPhase(Phase.SHORTEST);
+        int[] spParent = new int[weighted.nodes()];
+        double[] spDist = DagShortestPaths.shortest(weighted, topo, sourceComponent, m, spParent);
+        m.stopPhase(Phase.SHORTEST);
+        m.startPhase(Phase.LONGEST);
+        int[] lpParent = new int[weighted.nodes()];
+        double[] lpDist = DagShortestPaths.longest(weighted, topo, sourceComponent, m, lpParent);
+        m.stopPhase(Phase.LONGEST);
+        SourcePaths computed = new SourcePaths(spDist, spParent, lpDist, lpParent, m.getRelaxOps() - relax);
+        SourcePaths raced = paths.putIfAbsent(sourceComponent, computed);
+        return raced != null ? raced : computed;
+    }
+
+    /**
+     * Adds the counters of the original SCC/condensation/topo computation to m.
+     */
+    void replayCounters(MetricsTracker m) {
+        m.addDfsOps(dfsOps);
+        m.addEdgeOps(edgeOps);
+        m.addTopoOps(topoOps);
+    }
+
+    void putPaths(int sourceComponent, SourcePaths p) {
+        paths.put(sourceComponent, p);
+    }
+
+    boolean hasPaths(int sourceComponent) {
+        return paths.containsKey(sourceComponent);
+    }
+
+    Map<Integer, SourcePaths> paths() { return paths; }
+
+    /** Cache key (content hash and parallel-edge policy), or null if computed uncached. */
+    public String key() { return key; }
+    public List<List<Integer>> components() { return components; }
+    public int[] componentId() { return componentId; }
+    public CondensationBuilder.Condensation condensation() { return condensation; }
+    public int[] topo() { return topo; }
+    long dfsOps() { return dfsOps; }
+    long edgeOps() { return edgeOps; }
+    long topoOps() { return topoOps; }
+}
@@ -0,0 +1,345 @@
+package graphs.cache;
+
+import graphs.csr.CsrGraph;
+import graphs.scc.CondensationBuilder;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import metrics.MetricsTracker;
+
+/**
+ * Cache of GraphAnalysis results keyed by graph content.
+ *
+ * The key is a SHA-256 hash of the node count and the CSR arrays (edge order included,
+ * since it decides first-seen condensation weights) plus the parallel-edge policy and
+ * "-dag" when the DAG fast path was allowed, since that mode stores its own operation
+ * counters. The SCC engine is not part of the key: all engines give the same result. Graph ids are not part of the key, so
+ * identical graphs share one entry.
+ *
+ * Entries live in an in-memory LRU map of bounded size. With a directory, every entry
+ * is also written to <dir>/<key>.bin and read back on a memory miss, so a later run
+ * over unchanged inputs skips recomputation. Capacity 0 without a directory disables
+ * caching: analysis(...) then simply computes.
+ */
+public final class ResultCache {
+    private static final int MAGIC = 0x47524348; // "GRCH" (DataOutputStream is big-endian)
+    private static final int VERSION = 3; // 3: component members ascending
+
+    private final int capacity;
+    private final Path dir; // null = memory only
+    private final Map<String, GraphAnalysis> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity Maximum number of graphs kept in memory (0 = none).
+     * @param dir Directory of the on-disk store, or null for memory only.
+     * @throws IllegalArgumentException if capacity is negative.
+     * @throws UncheckedIOException if the directory cannot be created.
+     */
+    public ResultCache(int capacity, Path dir) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be non-negative");
+        }
+        this.capacity = capacity;
+        this.dir = dir;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GraphAnalysis> eldest) {
+                return size() > ResultCache.this.capacity;
+            }
+        };
+        if (dir != null) {
+            try {
+                Files.createDirectories(dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Memory-only cache.
+     */
+    public ResultCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * A cache that stores nothing.
+     */
+    public static ResultCache disabled() {
+        return new ResultCache(0, null);
+    }
+
+    public boolean isEnabled() {
+        return capacity > 0 || dir != null;
+    }
+
+    /**
+     * Returns the analysis of g, computing it on a miss.
+     * m times the hashing and lookup on hits and misses alike; a hit then adds the original
+     * operation counts to m, a miss adds the computation.
+     *
+     * @throws UncheckedIOException if the on-disk store cannot be read or written.
+     */
+    public GraphAnalysis analysis(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy, MetricsTracker m) {
+        return analysis(g, policy, GraphAnalysis.SccEngine.TARJAN, m);
+    }
+
+    /**
+     * Same as analysis(g, policy, m) with the given SCC engine (used on a miss only).
+     */
+    public GraphAnalysis analysis(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                  GraphAnalysis.SccEngine engine, MetricsTracker m) {
+        return analysis(g, policy, engine, false, m);
+    }
+
+    /**
+     * Same as analysis(g, policy, engine, m), optionally trying the DAG fast path on a miss
+     * (see GraphAnalysis.compute). Its results are identical but its counters are not (no
+     * DFS runs), so entries computed with the fast path allowed are stored under their own
+     * key and a hit replays the counters of the same mode.
+     */
+    public GraphAnalysis analysis(CsrGraph g, CondensationBuilder.ParallelEdgePolicy policy,
+                                  GraphAnalysis.SccEngine engine, boolean dagFastPath, MetricsTracker m) {
+        if (!isEnabled()) {
+            return GraphAnalysis.compute(g, policy, engine, dagFastPath, m);
+        }
+        m.start();
+        String key = contentHash(g) + "-" + policy.name().toLowerCase()
+                + (dagFastPath ? "-dag" : "");
+        GraphAnalysis cached = lookup(key);
+        m.stop();
+        if (cached != null) {
+            cached.replayCounters(m);
+            return cached;
+        }
+        GraphAnalysis computed = GraphAnalysis.compute(key, g, policy, engine, dagFastPath, m);
+        store(computed);
+        return computed;
+    }
+
+    /**
+     * Path results of an analysis from a source component; newly computed results are
+     * written through to the on-disk store.
+     */
+    public GraphAnalysis.SourcePaths paths(GraphAnalysis analysis, int sourceComponent, MetricsTracker m) {
+        boolean known = analysis.hasPaths(sourceComponent);
+        GraphAnalysis.SourcePaths p = analysis.pathsFrom(sourceComponent, m);
+        if (!known && dir != null && analysis.key() != null) {
+            write(analysis);
+        }
+        return p;
+    }
+
+    public synchronized long hits() { return hits; }
+    public synchronized long misses() { return misses; }
+
+    /**
+     * Hex SHA-256 of the node count, offsets, targets and weights (1.0 for unweighted edges).
+     */
+    public static String contentHash(CsrGraph g) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+        buf.putInt(g.nodes()).putInt(g.edges());
+        for (int off : g.offsets()) {
+            flushIfFull(sha, buf, Integer.BYTES);
+            buf.putInt(off);
+        }
+        for (int t : g.targets()) {
+            flushIfFull(sha, buf, Integer.BYTES);
+            buf.putInt(t);
+        }
+        for (int e = 0; e < g.edges(); e++) {
+            flushIfFull(sha, buf, Double.BYTES);
+            buf.putDouble(g.weight(e));
+        }
+        buf.flip();
+        sha.update(buf);
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    private static void flushIfFull(MessageDigest sha, ByteBuffer buf, int needed) {
+        if (buf.remaining() < needed) {
+            buf.flip();
+            sha.update(buf);
+            buf.clear();
+        }
+    }
+
+    private GraphAnalysis lookup(String key) {
+        synchronized (this) {
+            GraphAnalysis inMemory = entries.get(key);
+            if (inMemory != null) {
+                hits++;
+                return inMemory;
+            }
+        }
+        GraphAnalysis onDisk = dir == null ? null : read(key);
+        synchronized (this) {
+            if (onDisk != null) {
+                hits++;
+                entries.put(key, onDisk);
+            } else {
+                misses++;
+            }
+        }
+        return onDisk;
+    }
+
+    private void store(GraphAnalysis analysis) {
+        synchronized (this) {
+            entries.put(analysis.key(), analysis);
+        }
+        if (dir != null) {
+            write(analysis);
+        }
+    }
+
+    // --- on-disk store ---
+
+    private Path fileFor(String key) {
+        return dir.resolve(key + ".bin");
+    }
+
+    private GraphAnalysis read(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null; // stale format: recompute and overwrite
+            }
+            long dfsOps = in.readLong();
+            long edgeOps = in.readLong();
+            long topoOps = in.readLong();
+            int count = in.readInt();
+            List<List<Integer>> components = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) {
+                int size = in.readInt();
+                List<Integer> members = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    members.add(in.readInt());
+                }
+                components.add(members);
+            }
+            int[] componentId = readInts(in);
+            int[] offsets = readInts(in);
+            int[] dagTargets = readInts(in);
+            int[] weightedTargets = readInts(in);
+            double[] weights = readDoubles(in);
+            int[] topo = readInts(in);
+            CondensationBuilder.Condensation condensation = new CondensationBuilder.Condensation(
+                    new CsrGraph(count, offsets, dagTargets, null),
+                    new CsrGraph(count, offsets, weightedTargets, weights));
+            GraphAnalysis analysis = new GraphAnalysis(key, components, componentId, condensation, topo,
+                    dfsOps, edgeOps, topoOps);
+
+            int sources = in.readInt();
+            for (int s = 0; s < sources; s++) {
+                int source = in.readInt();
+                long relaxOps = in.readLong();
+                analysis.putPaths(source, new GraphAnalysis.SourcePaths(
+                        readDoubles(in), readInts(in), readDoubles(in), readInts(in), relaxOps));
+            }
+            return analysis;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read cache entry " + file, e);
+        }
+    }
+
+    private void write(GraphAnalysis a) {
+        Path file = fileFor(a.key());
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().threadId() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(a.dfsOps());
+                out.writeLong(a.edgeOps());
+                out.writeLong(a.topoOps());
+                out.writeInt(a.components().size());
+                for (List<Integer> members : a.components()) {
+                    out.writeInt(members.size());
+                    for (int v : members) {
+                        out.writeInt(v);
+                    }
+                }
+                writeInts(out, a.componentId());
+                CsrGraph dag = a.condensation().dag();
+                CsrGraph weighted = a.condensation().weighted();
+                writeInts(out, dag.offsets());
+                writeInts(out, dag.targets());
+                writeInts(out, weighted.targets());
+                writeDoubles(out, weighted.weights());
+                writeInts(out, a.topo());
+
+                Map<Integer, GraphAnalysis.SourcePaths> snapshot = new LinkedHashMap<>(a.paths());
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Integer, GraphAnalysis.SourcePaths> e : snapshot.entrySet()) {
+                    GraphAnalysis.SourcePaths p = e.getValue();
+                    out.writeInt(e.getKey());
+                    out.writeLong(p.relaxOps());
+                    writeDoubles(out, p.shortest());
+                    writeInts(out, p.shortestParent());
+                    writeDoubles(out, p.longest());
+                    writeInts(out, p.longestParent());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write cache entry " + file, e);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int v : values) {
+            out.writeInt(v);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double v : values) {
+            out.writeDouble(v);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static double[] readDoubles(DataInputStream in) throws IOException {
+        double[] values = new double[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+}
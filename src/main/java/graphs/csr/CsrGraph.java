@@ -0,0 +1,193 @@
+package graphs.csr;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compressed sparse row (CSR) representation of a directed, optionally weighted graph.
+ *
+ * Layout:
+ * - offsets: length n + 1; out-edges of u are the indices offsets[u] .. offsets[u + 1] - 1
+ * - targets: length m; targets[i] is the head of edge i
+ * - weights: length m, or null for an unweighted graph (every edge then has weight 1.0)
+ *
+ * Within one vertex, edges keep the order in which they were added, so algorithms
+ * running on CSR explore edges exactly like the list-based versions.
+ * The arrays are shared, not copied: callers must treat them as read-only.
+ */
+public final class CsrGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    public CsrGraph(int n, int[] offsets, int[] targets, double[] weights) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        if (offsets == null || offsets.length != n + 1) {
+            throw new IllegalArgumentException("offsets length must equal number of vertices + 1");
+        }
+        if (targets == null || offsets[n] != targets.length) {
+            throw new IllegalArgumentException("targets length must equal offsets[n]");
+        }
+        if (weights != null && weights.length != targets.length) {
+            throw new IllegalArgumentException("weights length must equal targets length");
+        }
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a CSR graph from an unweighted adjacency list.
+     */
+    public static CsrGraph fromAdjacency(List<List<Integer>> adj) {
+        if (adj == null) {
+            throw new IllegalArgumentException("Graph adjacency list cannot be null");
+        }
+        int n = adj.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + adj.get(u).size();
+        }
+        int[] targets = new int[offsets[n]];
+        int pos = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v : adj.get(u)) {
+                checkVertex(v, n);
+                targets[pos++] = v;
+            }
+        }
+        return new CsrGraph(n, offsets, targets, null);
+    }
+
+    public int nodes() { return n; }
+    public int edges() { return targets.length; }
+    public boolean isWeighted() { return weights != null; }
+
+    /** First edge index of u. */
+    public int begin(int u) { return offsets[u]; }
+
+    /** One past the last edge index of u. */
+    public int end(int u) { return offsets[u + 1]; }
+
+    public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+    public int target(int edge) { return targets[edge]; }
+    public double weight(int edge) { return weights == null ? 1.0 : weights[edge]; }
+
+    // Raw arrays for hot loops (shared, do not modify)
+    public int[] offsets() { return offsets; }
+    public int[] targets() { return targets; }
+    public double[] weights() { return weights; }
+
+    /**
+     * Read-only adjacency list view backed by this graph (no copy).
+     * Vertex ids are boxed on access, so prefer the CSR arrays in hot code.
+     */
+    public List<List<Integer>> adjacencyView() {
+        return new AbstractList<>() {
+            @Override
+            public List<Integer> get(int u) {
+                final int from = offsets[u];
+                final int size = offsets[u + 1] - from;
+                return new AbstractList<>() {
+                    @Override
+                    public Integer get(int i) {
+                        return targets[from + Objects.checkIndex(i, size)];
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
+    }
+
+    private static void checkVertex(int v, int n) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException(
+                    String.format("Edge endpoint out of range: %d (graph has %d nodes)", v, n));
+        }
+    }
+
+    /**
+     * Incremental builder: edges may be added in any order of source vertex.
+     * build() groups them by source with a stable counting sort, so per-vertex
+     * edge order equals insertion order.
+     */
+    public static final class Builder {
+        private int[] from;
+        private int[] to;
+        private double[] w;
+        private int size;
+
+        public Builder() {
+            this(16);
+        }
+
+        public Builder(int expectedEdges) {
+            int cap = Math.max(expectedEdges, 1);
+            from = new int[cap];
+            to = new int[cap];
+            w = new double[cap];
+        }
+
+        public Builder addEdge(int u, int v, double weight) {
+            if (size == from.length) {
+                int cap = Math.max(size + (size >> 1), size + 1);
+                from = Arrays.copyOf(from, cap);
+                to = Arrays.copyOf(to, cap);
+                w = Arrays.copyOf(w, cap);
+            }
+            from[size] = u;
+            to[size] = v;
+            w[size] = weight;
+            size++;
+            return this;
+        }
+
+        public int edgeCount() {
+            return size;
+        }
+
+        /**
+         * @param n Number of vertices; every endpoint must be in [0, n).
+         * @throws IllegalArgumentException if an endpoint is out of range.
+         */
+        public CsrGraph build(int n) {
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < size; i++) {
+                int u = from[i];
+                int v = to[i];
+                if (u < 0 || u >= n || v < 0 || v >= n) {
+                    throw new IllegalArgumentException(
+                            String.format("Edge endpoint out of range: %d -> %d (graph has %d nodes)", u, v, n));
+                }
+                offsets[u + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+            int[] targets = new int[size];
+            double[] weights = new double[size];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < size; i++) {
+                int pos = next[from[i]]++;
+                targets[pos] = to[i];
+                weights[pos] = w[i];
+            }
+            return new CsrGraph(n, offsets, targets, weights);
+        }
+    }
+}
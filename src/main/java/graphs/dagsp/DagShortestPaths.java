@@ -1,14 +1,21 @@
 package graphs.dagsp;
 
+import graphs.csr.CsrGraph;
 import java.util.*;
 import metrics.MetricsTracker;
 
 /**
  * Shortest and longest path algorithms for DAGs.
  * Added: shortest(...) with parent[] to reconstruct one optimal path.
+ * The CSR overloads are the native implementation; the list-based ones convert and delegate.
  */
 public class DagShortestPaths {
 
+    private static final int UNREACHABLE = -2;
+
+    /** Which optimum a path computation looks for. */
+    public enum Mode { SHORTEST, LONGEST }
+
     public static class Edge {
         public final int to;
         public final double weight;
@@ -18,6 +25,67 @@ public class DagShortestPaths {
         }
     }
 
+    /**
+     * Builds a CSR graph from a weighted adjacency list.
+     */
+    public static CsrGraph fromWeightedAdjacency(List<List<Edge>> adj) {
+        if (adj == null) {
+            throw new IllegalArgumentException("Graph adjacency list cannot be null");
+        }
+        int n = adj.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + adj.get(u).size();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int pos = 0;
+        for (int u = 0; u < n; u++) {
+            for (Edge e : adj.get(u)) {
+                if (e.to < 0 || e.to >= n) {
+                    throw new IllegalArgumentException(
+                            String.format("Edge endpoint out of range: %d (graph has %d nodes)", e.to, n));
+                }
+                targets[pos] = e.to;
+                weights[pos++] = e.weight;
+            }
+        }
+        return new CsrGraph(n, offsets, targets, weights);
+    }
+
+    /**
+     * Read-only weighted adjacency list view backed by g.
+     * Edge objects are created on access.
+     */
+    public static List<List<Edge>> weightedAdjacencyView(CsrGraph g) {
+        final int[] offsets = g.offsets();
+        final int[] targets = g.targets();
+        return new AbstractList<>() {
+            @Override
+            public List<Edge> get(int u) {
+                final int from = offsets[u];
+                final int size = offsets[u + 1] - from;
+                return new AbstractList<>() {
+                    @Override
+                    public Edge get(int i) {
+                        int e = from + Objects.checkIndex(i, size);
+                        return new Edge(targets[e], g.weight(e));
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return g.nodes();
+            }
+        };
+    }
+
     /**
      * Old API kept for compatibility.
      */
@@ -34,12 +102,26 @@ public class DagShortestPaths {
                                     MetricsTracker m,
                                     int[] parent) {
         validateInputs(adj, topo, src);
-        if (parent != null && parent.length != adj.size()) {
+        return shortest(fromWeightedAdjacency(adj), toArray(topo), src, m, parent);
+    }
+
+    /**
+     * CSR version of shortest(...): fills parent[] if not null.
+     */
+    public static double[] shortest(CsrGraph g,
+                                    int[] topo,
+                                    int src,
+                                    MetricsTracker m,
+                                    int[] parent) {
+        validateInputs(g, topo, src);
+        if (parent != null && parent.length != g.nodes()) {
             throw new IllegalArgumentException("parent length must equal number of vertices");
         }
 
         m.start();
-        int n = adj.size();
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
         double[] dist = new double[n];
         Arrays.fill(dist, Double.POSITIVE_INFINITY);
         dist[src] = 0.0;
@@ -47,21 +129,23 @@ public class DagShortestPaths {
             Arrays.fill(parent, -1);
         }
 
+        long relax = 0;
         for (int u : topo) {
             if (dist[u] == Double.POSITIVE_INFINITY) continue;
-            for (Edge e : adj.get(u)) {
-                int v = e.to;
-                double w = e.weight;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double w = g.weight(e);
                 double cand = dist[u] + w;
                 if (cand < dist[v]) {
                     dist[v] = cand;
                     if (parent != null) {
                         parent[v] = u;
                     }
-                    m.incRelax();
+                    relax++;
                 }
             }
         }
+        m.addRelaxOps(relax);
         m.stop();
         return dist;
     }
@@ -75,31 +159,180 @@ public class DagShortestPaths {
         if (parent == null || parent.length != adj.size()) {
             throw new IllegalArgumentException("Parent array must have length equal to number of vertices");
         }
+        return longest(fromWeightedAdjacency(adj), toArray(topo), src, m, parent);
+    }
+
+    /**
+     * CSR version of longest(...).
+     */
+    public static double[] longest(CsrGraph g,
+                                   int[] topo,
+                                   int src,
+                                   MetricsTracker m,
+                                   int[] parent) {
+        validateInputs(g, topo, src);
+        if (parent == null || parent.length != g.nodes()) {
+            throw new IllegalArgumentException("Parent array must have length equal to number of vertices");
+        }
 
         m.start();
-        int n = adj.size();
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
         double[] dist = new double[n];
         Arrays.fill(dist, Double.NEGATIVE_INFINITY);
         Arrays.fill(parent, -1);
         dist[src] = 0.0;
 
+        long relax = 0;
         for (int u : topo) {
             if (dist[u] == Double.NEGATIVE_INFINITY) continue;
-            for (Edge e : adj.get(u)) {
-                int v = e.to;
-                double w = e.weight;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double w = g.weight(e);
                 double cand = dist[u] + w;
                 if (cand > dist[v]) {
                     dist[v] = cand;
                     parent[v] = u;
-                    m.incRelax();
+                    relax++;
                 }
             }
         }
+        m.addRelaxOps(relax);
         m.stop();
         return dist;
     }
 
+    /**
+     * Distances from K sources, stored as one K-wide block per vertex:
+     * data[v * K + j] is the distance from sources[j] to v.
+     */
+    public record DistanceBlock(int[] sources, int vertices, double[] data) {
+        public int width() { return sources.length; }
+
+        public double get(int sourceIndex, int v) {
+            return data[v * sources.length + sourceIndex];
+        }
+
+        /**
+         * Distances from sources[sourceIndex] to every vertex (copied out of the block).
+         */
+        public double[] distancesFrom(int sourceIndex) {
+            int k = sources.length;
+            double[] dist = new double[vertices];
+            for (int v = 0; v < vertices; v++) {
+                dist[v] = data[v * k + sourceIndex];
+            }
+            return dist;
+        }
+    }
+
+    /**
+     * Shortest distances from many sources in a single pass over the topological order.
+     * Each edge is relaxed once for all K sources with a tight loop over the K-wide
+     * distance blocks of its endpoints (contiguous, so the JIT can vectorize it).
+     * No parent arrays are kept; use shortest(...) for path reconstruction.
+     *
+     * @param sources Source vertices (duplicates allowed).
+     * @throws IllegalArgumentException on invalid inputs or if V * K does not fit in an array.
+     */
+    public static DistanceBlock shortestMulti(CsrGraph g, int[] topo, int[] sources, MetricsTracker m) {
+        return relaxMulti(g, topo, sources, m, false);
+    }
+
+    /**
+     * Longest distances from many sources in a single pass (see shortestMulti).
+     */
+    public static DistanceBlock longestMulti(CsrGraph g, int[] topo, int[] sources, MetricsTracker m) {
+        return relaxMulti(g, topo, sources, m, true);
+    }
+
+    /**
+     * All-pairs shortest distances for small DAGs: get(s, v) is the distance from s to v.
+     * Uses V^2 doubles of memory.
+     */
+    public static DistanceBlock allPairsShortest(CsrGraph g, int[] topo, MetricsTracker m) {
+        return relaxMulti(g, topo, allVertices(g), m, false);
+    }
+
+    /**
+     * All-pairs longest distances for small DAGs: get(s, v) is the longest distance from s to v.
+     */
+    public static DistanceBlock allPairsLongest(CsrGraph g, int[] topo, MetricsTracker m) {
+        return relaxMulti(g, topo, allVertices(g), m, true);
+    }
+
+    private static int[] allVertices(CsrGraph g) {
+        if (g == null) {
+            throw new IllegalArgumentException("graph is null/empty");
+        }
+        int[] all = new int[g.nodes()];
+        for (int v = 0; v < all.length; v++) {
+            all[v] = v;
+        }
+        return all;
+    }
+
+    private static DistanceBlock relaxMulti(CsrGraph g, int[] topo, int[] sources, MetricsTracker m,
+                                            boolean longest) {
+        if (sources == null || sources.length == 0) {
+            throw new IllegalArgumentException("sources is null/empty");
+        }
+        for (int src : sources) {
+            validateInputs(g, topo, src);
+        }
+        int n = g.nodes();
+        int k = sources.length;
+        if ((long) n * k > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("vertices * sources too large for one distance block");
+        }
+
+        m.start();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] dist = new double[n * k];
+        Arrays.fill(dist, unreached);
+        // reached[v]: some lane of v is finite, so v's out-edges must be relaxed
+        boolean[] reached = new boolean[n];
+        for (int j = 0; j < k; j++) {
+            dist[sources[j] * k + j] = 0.0;
+            reached[sources[j]] = true;
+        }
+
+        long relax = 0;
+        for (int u : topo) {
+            if (!reached[u]) continue;
+            int ub = u * k;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                int vb = v * k;
+                double w = g.weight(e);
+                reached[v] = true;
+                if (longest) {
+                    for (int j = 0; j < k; j++) {
+                        double cand = dist[ub + j] + w;
+                        if (cand > dist[vb + j]) {
+                            dist[vb + j] = cand;
+                            relax++;
+                        }
+                    }
+                } else {
+                    for (int j = 0; j < k; j++) {
+                        double cand = dist[ub + j] + w;
+                        if (cand < dist[vb + j]) {
+                            dist[vb + j] = cand;
+                            relax++;
+                        }
+                    }
+                }
+            }
+        }
+        m.addRelaxOps(relax);
+        m.stop();
+        return new DistanceBlock(sources.clone(), n, dist);
+    }
+
     public static List<Integer> reconstructPath(int[] parent, int dest) {
         if (parent == null || dest < 0 || dest >= parent.length) {
             throw new IllegalArgumentException("Invalid parent or dest");
@@ -116,6 +349,106 @@ public class DagShortestPaths {
         return path;
     }
 
+    /**
+     * Path src → dest as a primitive array, filled back-to-front (no boxing, no reverse).
+     * The source is given explicitly, so no O(V) scan for it is needed.
+     *
+     * @return Vertices from src to dest; {src} if dest == src; empty if dest is unreachable.
+     * @throws IllegalArgumentException on invalid inputs or if parent[] does not lead back to src.
+     */
+    public static int[] pathTo(int[] parent, int src, int dest) {
+        if (parent == null || src < 0 || src >= parent.length || dest < 0 || dest >= parent.length) {
+            throw new IllegalArgumentException("Invalid parent, src or dest");
+        }
+        int length = 1;
+        for (int at = dest; at != src; at = parent[at]) {
+            if (parent[at] == -1) {
+                return new int[0];
+            }
+            if (++length > parent.length) {
+                throw new IllegalArgumentException("parent[] contains a cycle");
+            }
+        }
+        int[] path = new int[length];
+        for (int at = dest, i = length - 1; i >= 0; at = parent[at], i--) {
+            path[i] = at;
+        }
+        return path;
+    }
+
+    /**
+     * Paths src → dests[i] for many targets in one call.
+     * Depths are memoized once per vertex, targets are built shallowest first, and each
+     * path is filled back-to-front only until the walk reaches a target built earlier in
+     * the call; that prefix is copied instead of walked again. Targets sharing a long prefix
+     * (e.g. a critical path and the vertices on it) cost their distinct suffix plus one copy.
+     *
+     * @return paths[i] as pathTo(parent, src, dests[i]) would return it.
+     */
+    public static int[][] pathsTo(int[] parent, int src, int[] dests) {
+        if (parent == null || dests == null || src < 0 || src >= parent.length) {
+            throw new IllegalArgumentException("Invalid parent, src or dests");
+        }
+        int n = parent.length;
+        // depth[v]: edges from src, -1 = not computed yet, UNREACHABLE = no path
+        int[] depth = new int[n];
+        Arrays.fill(depth, -1);
+        depth[src] = 0;
+        int[] walk = new int[n];
+        for (int dest : dests) {
+            if (dest < 0 || dest >= n) {
+                throw new IllegalArgumentException("dest out of range: " + dest);
+            }
+            int steps = 0;
+            int at = dest;
+            while (depth[at] == -1 && parent[at] != -1) {
+                if (steps == n) {
+                    throw new IllegalArgumentException("parent[] contains a cycle");
+                }
+                walk[steps++] = at;
+                at = parent[at];
+            }
+            int d = depth[at] == -1 ? UNREACHABLE : depth[at];
+            if (d == UNREACHABLE) depth[at] = UNREACHABLE;
+            for (int k = steps - 1; k >= 0; k--) {
+                d = d == UNREACHABLE ? UNREACHABLE : d + 1;
+                depth[walk[k]] = d;
+            }
+        }
+
+        long[] byDepth = new long[dests.length];
+        for (int i = 0; i < dests.length; i++) {
+            byDepth[i] = ((long) depth[dests[i]] << 32) | i;
+        }
+        Arrays.sort(byDepth);
+
+        // built[v]: path to v if it was a target already processed (shared by equal targets)
+        int[][] built = new int[n][];
+        built[src] = new int[]{src};
+        int[][] paths = new int[dests.length][];
+        for (long key : byDepth) {
+            int i = (int) key;
+            int dest = dests[i];
+            if (depth[dest] == UNREACHABLE) {
+                paths[i] = new int[0];
+                continue;
+            }
+            if (built[dest] == null) {
+                int[] path = new int[depth[dest] + 1];
+                int at = dest;
+                int k = path.length - 1;
+                while (built[at] == null) {
+                    path[k--] = at;
+                    at = parent[at];
+                }
+                System.arraycopy(built[at], 0, path, 0, k + 1);
+                built[dest] = path;
+            }
+            paths[i] = built[dest];
+        }
+        return paths;
+    }
+
     private static int findSource(int[] parent) {
         for (int i = 0; i < parent.length; i++) {
             if (parent[i] == -1) return i;
@@ -134,4 +467,24 @@ public class DagShortestPaths {
             throw new IllegalArgumentException("src out of range");
         }
     }
+
+    private static void validateInputs(CsrGraph g, int[] topo, int src) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("graph is null/empty");
+        }
+        if (topo == null || topo.length == 0) {
+            throw new IllegalArgumentException("topo is null/empty");
+        }
+        if (src < 0 || src >= g.nodes()) {
+            throw new IllegalArgumentException("src out of range");
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] arr = new int[list.size()];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = list.get(i);
+        }
+        return arr;
+    }
 }
@@ -0,0 +1,192 @@
+package graphs.dagsp;
+
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths.Mode;
+import graphs.topo.IntMinHeap;
+import java.util.Arrays;
+import metrics.MetricsTracker;
+
+/**
+ * Keeps single-source shortest or longest DAG distances up to date while edge weights change.
+ *
+ * Starts from dist/parent arrays produced by DagShortestPaths.shortest/longest and updates
+ * them in place. After a weight change on u→v only v can change directly; vertices are then
+ * re-evaluated from their in-edges in topological order (a min-heap of topo positions),
+ * and a vertex's successors are queued only if its distance actually changed, so the
+ * repair stops as soon as distances stop changing.
+ *
+ * Re-evaluation picks the same parent a full run would: the first in-edge, by topo position
+ * of its tail and then by edge index, that reaches the optimum. dist and parent therefore
+ * stay identical to a fresh DagShortestPaths run on the updated weights.
+ */
+public final class IncrementalDagPaths {
+
+    private final CsrGraph graph;
+    private final int[] topo;
+    private final int[] pos;
+    private final int src;
+    private final boolean longest;
+    private final double[] dist;
+    private final int[] parent;
+    private final double[] weights;
+    // reverse CSR: in-edges of v are inEdge[inOffsets[v] .. inOffsets[v + 1]), as edge indices
+    private final int[] inOffsets;
+    private final int[] inEdge;
+    private final int[] tail;
+
+    private final IntMinHeap queue;
+    private final int[] queued;
+    private int epoch;
+
+    /**
+     * @param g DAG (weights are copied; later changes go through setWeight).
+     * @param topo Topological order of all vertices of g (the one dist/parent were computed with).
+     * @param src Source vertex.
+     * @param mode SHORTEST or LONGEST.
+     * @param dist Distances from DagShortestPaths, updated in place.
+     * @param parent Parents from DagShortestPaths, updated in place.
+     * @throws IllegalArgumentException on null or mismatched inputs.
+     */
+    public IncrementalDagPaths(CsrGraph g, int[] topo, int src, Mode mode,
+                               double[] dist, int[] parent) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("graph is null/empty");
+        }
+        int n = g.nodes();
+        if (topo == null || topo.length != n) {
+            throw new IllegalArgumentException("topo must contain every vertex exactly once");
+        }
+        if (src < 0 || src >= n) {
+            throw new IllegalArgumentException("src out of range");
+        }
+        if (mode == null || dist == null || parent == null || dist.length != n || parent.length != n) {
+            throw new IllegalArgumentException("dist and parent must have length equal to number of vertices");
+        }
+        this.graph = g;
+        this.src = src;
+        this.longest = mode == Mode.LONGEST;
+        this.dist = dist;
+        this.parent = parent;
+        this.topo = topo.clone();
+        this.pos = new int[n];
+        Arrays.fill(pos, -1);
+        for (int i = 0; i < n; i++) {
+            if (topo[i] < 0 || topo[i] >= n || pos[topo[i]] != -1) {
+                throw new IllegalArgumentException("topo must contain every vertex exactly once");
+            }
+            pos[topo[i]] = i;
+        }
+
+        int m = g.edges();
+        this.weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            weights[e] = g.weight(e);
+        }
+        this.tail = new int[m];
+        this.inOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                tail[e] = u;
+                inOffsets[g.target(e) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inEdge = new int[m];
+        int[] fill = Arrays.copyOf(inOffsets, n);
+        for (int e = 0; e < m; e++) {
+            inEdge[fill[g.target(e)]++] = e;
+        }
+
+        this.queue = new IntMinHeap(16);
+        this.queued = new int[n];
+    }
+
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Current graph with the updated weights (shares this instance's arrays).
+     */
+    public CsrGraph graph() {
+        return new CsrGraph(graph.nodes(), graph.offsets(), graph.targets(), weights);
+    }
+
+    /**
+     * Changes the weight of one edge and repairs dist/parent downstream of it.
+     * Metrics: incEdge per in-edge examined, incRelax per distance that changed.
+     *
+     * @param edge CSR edge index (g.begin(u) <= edge < g.end(u) for edge u→v).
+     * @return Vertices whose distance changed, in topological order.
+     * @throws IllegalArgumentException if edge is out of range.
+     */
+    public int[] setWeight(int edge, double newWeight, MetricsTracker m) {
+        if (edge < 0 || edge >= weights.length) {
+            throw new IllegalArgumentException("edge out of range");
+        }
+        if (weights[edge] == newWeight) {
+            return new int[0];
+        }
+        m.start();
+        weights[edge] = newWeight;
+        int[] targets = graph.targets();
+        int[] offsets = graph.offsets();
+        int mark = ++epoch;
+        int[] changed = new int[8];
+        int changedCount = 0;
+
+        int head = targets[edge];
+        queued[head] = mark;
+        queue.add(pos[head]);
+        while (!queue.isEmpty()) {
+            int v = topo[queue.poll()];
+            if (v == src) continue;
+
+            double old = dist[v];
+            evaluate(v, m);
+            if (Double.compare(dist[v], old) == 0) continue;
+
+            m.incRelax();
+            if (changedCount == changed.length) changed = Arrays.copyOf(changed, changedCount * 2);
+            changed[changedCount++] = v;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (queued[w] != mark) {
+                    queued[w] = mark;
+                    queue.add(pos[w]);
+                }
+            }
+        }
+        m.stop();
+        return Arrays.copyOf(changed, changedCount);
+    }
+
+    /**
+     * Recomputes dist[v] and parent[v] from v's in-edges.
+     */
+    private void evaluate(int v, MetricsTracker m) {
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double best = unreached;
+        int bestTail = -1;
+        int bestEdge = -1;
+        for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+            int e = inEdge[i];
+            int u = tail[e];
+            m.incEdge();
+            if (dist[u] == unreached) continue;
+            double cand = dist[u] + weights[e];
+            boolean better = longest ? cand > best : cand < best;
+            boolean earlierTie = cand == best && bestTail != -1
+                    && (pos[u] < pos[bestTail] || (u == bestTail && e < bestEdge));
+            if (better || earlierTie) {
+                best = cand;
+                bestTail = u;
+                bestEdge = e;
+            }
+        }
+        dist[v] = best;
+        parent[v] = bestTail;
+    }
+}
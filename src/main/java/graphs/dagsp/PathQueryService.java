@@ -0,0 +1,305 @@
+package graphs.dagsp;
+
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths.Mode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import metrics.MetricsTracker;
+
+/**
+ * Answers independent point-to-point path queries over one shared, read-only DAG.
+ *
+ * The graph and its topological order are fixed at construction; queries only read them,
+ * so any number of worker threads can run at once. Each worker keeps its own dist/parent
+ * scratch arrays (ThreadLocal) and reuses them across queries: a per-vertex stamp marks
+ * which entries belong to the current query, so nothing is refilled between queries.
+ *
+ * A query (s, t) only scans topo positions pos[s]..pos[t] and ignores edges that jump
+ * past t, since nothing outside that window can lie on an s→t path.
+ */
+public final class PathQueryService implements AutoCloseable {
+
+    // queries per task when reading a stream
+    private static final int STREAM_CHUNK = 256;
+
+    public record Query(int source, int target, Mode mode) { }
+
+    /**
+     * @param distance Shortest/longest distance, or +/-Infinity if the target is unreachable.
+     * @param path Vertices from source to target, empty if unreachable.
+     */
+    public record Answer(Query query, double distance, int[] path) {
+        public boolean reachable() { return path.length > 0; }
+    }
+
+    private final CsrGraph graph;
+    private final int[] topo;
+    private final int[] pos;
+    private final int threads;
+    private final ExecutorService pool;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @param g DAG to query.
+     * @param topo Topological order of all vertices of g.
+     * @param threads Worker threads (1 = answer on the calling thread).
+     * @throws IllegalArgumentException if topo is not a permutation of g's vertices.
+     */
+    public PathQueryService(CsrGraph g, int[] topo, int threads) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("graph is null/empty");
+        }
+        if (topo == null || topo.length != g.nodes()) {
+            throw new IllegalArgumentException("topo must contain every vertex exactly once");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        int n = g.nodes();
+        int[] p = new int[n];
+        Arrays.fill(p, -1);
+        for (int i = 0; i < n; i++) {
+            int v = topo[i];
+            if (v < 0 || v >= n || p[v] != -1) {
+                throw new IllegalArgumentException("topo must contain every vertex exactly once");
+            }
+            p[v] = i;
+        }
+        this.graph = g;
+        this.topo = topo.clone();
+        this.pos = p;
+        this.threads = threads;
+        this.pool = threads == 1 ? null : Executors.newFixedThreadPool(threads);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(n));
+    }
+
+    /**
+     * Answers a single query on the calling thread.
+     */
+    public Answer answer(Query q, MetricsTracker m) {
+        validate(q);
+        return solve(scratch.get(), q, m);
+    }
+
+    /**
+     * Answers all queries, fanned out across the pool.
+     * Counters of the per-chunk trackers are merged into m; m's elapsed time covers the
+     * whole batch, so m.getQueriesPerSecond() is the batch throughput.
+     *
+     * @return Answers in the same order as the queries.
+     */
+    public List<Answer> run(List<Query> queries, MetricsTracker m) {
+        if (queries == null) {
+            throw new IllegalArgumentException("queries cannot be null");
+        }
+        for (Query q : queries) {
+            validate(q);
+        }
+        Answer[] answers = new Answer[queries.size()];
+        m.start();
+        if (pool == null || queries.size() < 2) {
+            Scratch s = scratch.get();
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = solve(s, queries.get(i), m);
+            }
+        } else {
+            // a few chunks per thread, so one slow chunk does not idle the others
+            int chunks = Math.min(queries.size(), 4 * threads);
+            List<Callable<MetricsTracker>> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int from = (int) ((long) queries.size() * c / chunks);
+                int to = (int) ((long) queries.size() * (c + 1) / chunks);
+                tasks.add(() -> {
+                    MetricsTracker local = new MetricsTracker();
+                    Scratch s = scratch.get();
+                    for (int i = from; i < to; i++) {
+                        answers[i] = solve(s, queries.get(i), local);
+                    }
+                    return local;
+                });
+            }
+            try {
+                for (Future<MetricsTracker> f : pool.invokeAll(tasks)) {
+                    m.merge(f.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while answering queries", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Query failed", e.getCause());
+            }
+        }
+        m.stop();
+        return List.of(answers);
+    }
+
+    /**
+     * Stream form of run(List, MetricsTracker). The stream is read in chunks of
+     * STREAM_CHUNK queries, and each chunk goes to the pool as soon as it is full, so
+     * answering overlaps with producing the queries. Queries are validated as they are
+     * read; an invalid one cancels the chunks that have not started yet.
+     *
+     * @return Answers in the same order as the queries.
+     */
+    public List<Answer> run(Stream<Query> queries, MetricsTracker m) {
+        if (queries == null) {
+            throw new IllegalArgumentException("queries cannot be null");
+        }
+        List<Answer[]> outputs = new ArrayList<>();
+        List<Future<MetricsTracker>> pending = new ArrayList<>();
+        boolean done = false;
+        m.start();
+        try {
+            Iterator<Query> it = queries.iterator();
+            while (it.hasNext()) {
+                Query[] chunk = new Query[STREAM_CHUNK];
+                int size = 0;
+                while (size < chunk.length && it.hasNext()) {
+                    Query q = it.next();
+                    validate(q);
+                    chunk[size++] = q;
+                }
+                Query[] batch = size == chunk.length ? chunk : Arrays.copyOf(chunk, size);
+                Answer[] out = new Answer[size];
+                outputs.add(out);
+                if (pool == null) {
+                    m.merge(solveAll(batch, out));
+                } else {
+                    pending.add(pool.submit(() -> solveAll(batch, out)));
+                }
+            }
+            for (Future<MetricsTracker> f : pending) {
+                m.merge(f.get());
+            }
+            done = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while answering queries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Query failed", e.getCause());
+        } finally {
+            if (!done) {
+                for (Future<MetricsTracker> f : pending) {
+                    f.cancel(false);
+                }
+            }
+            m.stop();
+        }
+        List<Answer> answers = new ArrayList<>(outputs.size() * STREAM_CHUNK);
+        for (Answer[] out : outputs) {
+            Collections.addAll(answers, out);
+        }
+        return Collections.unmodifiableList(answers);
+    }
+
+    // answers one chunk on the current thread, counting on a tracker of its own
+    private MetricsTracker solveAll(Query[] batch, Answer[] out) {
+        MetricsTracker local = new MetricsTracker();
+        Scratch s = scratch.get();
+        for (int i = 0; i < batch.length; i++) {
+            out[i] = solve(s, batch[i], local);
+        }
+        return local;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void validate(Query q) {
+        int n = graph.nodes();
+        if (q == null || q.mode() == null) {
+            throw new IllegalArgumentException("query and mode cannot be null");
+        }
+        if (q.source() < 0 || q.source() >= n || q.target() < 0 || q.target() >= n) {
+            throw new IllegalArgumentException("query vertex out of range: " + q);
+        }
+    }
+
+    private Answer solve(Scratch s, Query q, MetricsTracker m) {
+        int src = q.source();
+        int tgt = q.target();
+        boolean longest = q.mode() == Mode.LONGEST;
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        m.incQuery();
+        if (pos[tgt] < pos[src]) {
+            return new Answer(q, unreached, new int[0]);
+        }
+
+        int epoch = s.nextEpoch();
+        int[] stamp = s.stamp;
+        double[] dist = s.dist;
+        int[] parent = s.parent;
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int last = pos[tgt];
+        stamp[src] = epoch;
+        dist[src] = 0.0;
+        parent[src] = -1;
+
+        for (int i = pos[src]; i < last; i++) {
+            int u = topo[i];
+            if (stamp[u] != epoch) continue;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (pos[v] > last) continue;
+                double cand = dist[u] + graph.weight(e);
+                if (stamp[v] != epoch || (longest ? cand > dist[v] : cand < dist[v])) {
+                    stamp[v] = epoch;
+                    dist[v] = cand;
+                    parent[v] = u;
+                    m.incRelax();
+                }
+            }
+        }
+
+        if (stamp[tgt] != epoch) {
+            return new Answer(q, unreached, new int[0]);
+        }
+        int length = 1;
+        for (int at = tgt; at != src; at = parent[at]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int at = tgt, i = length - 1; i >= 0; at = parent[at], i--) {
+            path[i] = at;
+        }
+        return new Answer(q, dist[tgt], path);
+    }
+
+    /**
+     * Per-thread reusable arrays; entries are valid only where stamp[v] == epoch.
+     */
+    private static final class Scratch {
+        final double[] dist;
+        final int[] parent;
+        final int[] stamp;
+        int epoch;
+
+        Scratch(int n) {
+            dist = new double[n];
+            parent = new int[n];
+            stamp = new int[n];
+        }
+
+        int nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+    }
+}
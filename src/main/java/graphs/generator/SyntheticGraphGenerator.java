@@ -0,0 +1,370 @@
+package graphs.generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graphs.csr.CsrGraph;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, seeded generator of large graphs in the JsonGraphReader format.
+ *
+ * Model:
+ * - vertices are split into {@code depth} contiguous layers of (almost) equal width
+ * - each layer is cut into blocks; a block is a planted SCC: singleton, or a directed
+ *   cycle through its vertices plus extra random edges inside it
+ * - all other edges go from a layer to one of the next {@code layerSpan} layers,
+ *   so the condensation is a DAG of exactly {@code depth} levels of blocks
+ * - vertex ids are scrambled with an affine permutation, so structure is not visible
+ *   from the ids (O(1) memory, unlike a shuffled array)
+ *
+ * Edges are produced one at a time and written straight to disk, so memory use is
+ * constant regardless of graph size. The same spec and seed always give the same file.
+ */
+public final class SyntheticGraphGenerator {
+
+    /**
+     * How sizes of non-trivial SCCs are drawn (always between 2 and maxSccSize).
+     */
+    public enum SccSizes {
+        UNIFORM,
+        /** P(size = s) proportional to s^-2: many small cycles, a few large ones. */
+        POWER_LAW
+    }
+
+    /**
+     * How edge weights are drawn from [weightMin, weightMax].
+     */
+    public enum Weights {
+        /** Every edge has weight weightMin. */
+        CONSTANT,
+        UNIFORM,
+        /** Uniform integers in [weightMin, weightMax]. */
+        INTEGER,
+        /** weightMin + exponential with mean (weightMax - weightMin) / 4, capped at weightMax. */
+        EXPONENTIAL
+    }
+
+    /**
+     * Parameters of one generated graph.
+     *
+     * @param id Graph identifier
+     * @param nodes Number of vertices
+     * @param avgOutDegree Target number of edges per vertex (edges = nodes * avgOutDegree)
+     * @param depth Number of layers of the condensation DAG (width = nodes / depth)
+     * @param layerSpan Maximum number of layers an inter-layer edge may skip forward (&gt;= 1)
+     * @param cyclicFraction Expected fraction of vertices inside non-trivial SCCs, in [0, 1)
+     * @param sccSizes Size distribution of non-trivial SCCs
+     * @param maxSccSize Largest non-trivial SCC (&gt;= 2)
+     * @param weights Weight distribution
+     * @param weightMin Smallest weight
+     * @param weightMax Largest weight
+     * @param seed Random seed
+     */
+    public record Spec(
+            String id,
+            int nodes,
+            double avgOutDegree,
+            int depth,
+            int layerSpan,
+            double cyclicFraction,
+            SccSizes sccSizes,
+            int maxSccSize,
+            Weights weights,
+            double weightMin,
+            double weightMax,
+            long seed
+    ) {
+        public Spec {
+            if (nodes < 1) throw new IllegalArgumentException("nodes must be positive");
+            if (avgOutDegree < 0) throw new IllegalArgumentException("avgOutDegree cannot be negative");
+            if (depth < 1 || depth > nodes) throw new IllegalArgumentException("depth must be in [1, nodes]");
+            if (layerSpan < 1) throw new IllegalArgumentException("layerSpan must be positive");
+            if (cyclicFraction < 0 || cyclicFraction >= 1) {
+                throw new IllegalArgumentException("cyclicFraction must be in [0, 1)");
+            }
+            if (maxSccSize < 2) throw new IllegalArgumentException("maxSccSize must be at least 2");
+            if (weightMax < weightMin) throw new IllegalArgumentException("weightMax must be >= weightMin");
+        }
+
+        /**
+         * Defaults: sparse (2 edges/vertex), 10 layers, no cycles, uniform weights in [1, 10).
+         */
+        public static Spec of(String id, int nodes, long seed) {
+            return new Spec(id, nodes, 2.0, Math.min(10, nodes), 1, 0.0,
+                    SccSizes.UNIFORM, 2, Weights.UNIFORM, 1.0, 10.0, seed);
+        }
+    }
+
+    /**
+     * Receives generated edges.
+     */
+    @FunctionalInterface
+    public interface EdgeSink {
+        void edge(int from, int to, double w) throws IOException;
+    }
+
+    /**
+     * Summary of one generated graph.
+     *
+     * @param edges Number of edges emitted
+     * @param cyclicBlocks Number of planted non-trivial SCCs (0 means the graph is a DAG)
+     */
+    public record Stats(long edges, long cyclicBlocks) { }
+
+    private SyntheticGraphGenerator() { }
+
+    /**
+     * Generates the edges of one graph into a sink.
+     * @throws IOException if the sink fails.
+     */
+    public static Stats generate(Spec spec, EdgeSink sink) throws IOException {
+        SplittableRandom rnd = new SplittableRandom(spec.seed());
+        int n = spec.nodes();
+        long targetEdges = Math.round(n * spec.avgOutDegree());
+        Permutation perm = new Permutation(n, rnd.nextLong());
+
+        // probability that a block is non-trivial, so that the expected vertex fraction matches
+        double meanSize = meanSccSize(spec);
+        double f = spec.cyclicFraction();
+        double pCyclic = f == 0 ? 0 : f / (meanSize * (1 - f) + f);
+
+        // 1) planted SCCs: a cycle through each block plus extra random edges inside it.
+        // Extra intra-block edges get the same share of the edge budget as the block's vertices.
+        double intraShare = Math.max(0, spec.avgOutDegree() - 1);
+        long edges = 0;
+        long cyclicBlocks = 0;
+        for (int layer = 0; layer < spec.depth(); layer++) {
+            int end = layerStart(layer + 1, spec);
+            int v = layerStart(layer, spec);
+            while (v < end) {
+                int size = rnd.nextDouble() < pCyclic ? drawSccSize(spec, rnd) : 1;
+                size = Math.min(size, end - v);
+                if (size > 1) {
+                    cyclicBlocks++;
+                    for (int i = 0; i < size; i++) {
+                        int next = v + (i + 1) % size;
+                        sink.edge(perm.apply(v + i), perm.apply(next), weight(spec, rnd));
+                    }
+                    long extra = Math.round(size * intraShare * 0.5);
+                    for (long k = 0; k < extra; k++) {
+                        int a = v + rnd.nextInt(size);
+                        int b = v + rnd.nextInt(size);
+                        if (a != b) {
+                            sink.edge(perm.apply(a), perm.apply(b), weight(spec, rnd));
+                            edges++;
+                        }
+                    }
+                    edges += size;
+                }
+                v += size;
+            }
+        }
+
+        // 2) inter-layer edges (forward only), filling the remaining budget
+        if (spec.depth() > 1) {
+            int lastLayerStart = layerStart(spec.depth() - 1, spec);
+            for (; edges < targetEdges; edges++) {
+                int u = rnd.nextInt(lastLayerStart);
+                int layer = layerOf(u, spec);
+                int maxLayer = Math.min(spec.depth() - 1, layer + spec.layerSpan());
+                int toLayer = layer + 1 + rnd.nextInt(maxLayer - layer);
+                int from = layerStart(toLayer, spec);
+                int to = from + rnd.nextInt(layerStart(toLayer + 1, spec) - from);
+                sink.edge(perm.apply(u), perm.apply(to), weight(spec, rnd));
+            }
+        }
+        return new Stats(edges, cyclicBlocks);
+    }
+
+    /**
+     * Generates one graph in memory as CSR (for tests and benchmarks).
+     */
+    public static CsrGraph generateCsr(Spec spec) {
+        CsrGraph.Builder b = new CsrGraph.Builder((int) Math.min(Integer.MAX_VALUE - 8,
+                Math.round(spec.nodes() * spec.avgOutDegree()) + spec.nodes()));
+        try {
+            generate(spec, b::addEdge);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // the builder never throws IOException
+        }
+        return b.build(spec.nodes());
+    }
+
+    /**
+     * Streams graphs to a JSON file ({"graphs": [...]}), one graph and one edge at a time.
+     * Fields that are only known after generation (edgesCount, isDAG) follow the edge array.
+     * @throws IOException if writing fails.
+     */
+    public static void writeJson(List<Spec> specs, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+             JsonGenerator gen = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("graphs");
+            for (Spec spec : specs) {
+                gen.writeStartObject();
+                gen.writeStringField("id", spec.id());
+                gen.writeNumberField("nodes", spec.nodes());
+                gen.writeStringField("density", spec.avgOutDegree() >= 8 ? "dense" : "sparse");
+                gen.writeNumberField("source", 0);
+                gen.writeArrayFieldStart("edges");
+                Stats stats = generate(spec, (u, v, w) -> {
+                    gen.writeStartObject();
+                    gen.writeNumberField("from", u);
+                    gen.writeNumberField("to", v);
+                    gen.writeNumberField("w", w);
+                    gen.writeEndObject();
+                });
+                gen.writeEndArray();
+                gen.writeNumberField("edgesCount", stats.edges());
+                gen.writeBooleanField("isDAG", stats.cyclicBlocks() == 0);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Command-line entry point.
+     * Usage: SyntheticGraphGenerator --out FILE [--graphs K] [--nodes N] [--degree D] [--depth L]
+     *        [--span S] [--cyclic F] [--scc-sizes uniform|power_law] [--max-scc M]
+     *        [--weights constant|uniform|integer|exponential] [--wmin A] [--wmax B] [--seed X]
+     * With --graphs K, graph i uses seed X + i and id "gen-(i+1)".
+     */
+    public static void main(String[] args) throws IOException {
+        String out = null;
+        int graphs = 1;
+        int nodes = 1_000_000;
+        double degree = 2.0;
+        Integer depth = null;
+        int span = 1;
+        double cyclic = 0.0;
+        SccSizes sccSizes = SccSizes.UNIFORM;
+        int maxScc = 2;
+        Weights weights = Weights.UNIFORM;
+        double wmin = 1.0;
+        double wmax = 10.0;
+        long seed = 42L;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--out" -> out = value;
+                case "--graphs" -> graphs = Integer.parseInt(value);
+                case "--nodes" -> nodes = Integer.parseInt(value);
+                case "--degree" -> degree = Double.parseDouble(value);
+                case "--depth" -> depth = Integer.parseInt(value);
+                case "--span" -> span = Integer.parseInt(value);
+                case "--cyclic" -> cyclic = Double.parseDouble(value);
+                case "--scc-sizes" -> sccSizes = SccSizes.valueOf(value.toUpperCase());
+                case "--max-scc" -> maxScc = Integer.parseInt(value);
+                case "--weights" -> weights = Weights.valueOf(value.toUpperCase());
+                case "--wmin" -> wmin = Double.parseDouble(value);
+                case "--wmax" -> wmax = Double.parseDouble(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (out == null) {
+            System.out.println("Usage: SyntheticGraphGenerator --out FILE [options], see javadoc");
+            return;
+        }
+
+        List<Spec> specs = new ArrayList<>(graphs);
+        for (int i = 0; i < graphs; i++) {
+            specs.add(new Spec("gen-" + (i + 1), nodes, degree,
+                    depth != null ? depth : Math.min(10, nodes), span, cyclic,
+                    sccSizes, maxScc, weights, wmin, wmax, seed + i));
+        }
+        writeJson(specs, Path.of(out));
+        System.out.println("Wrote " + graphs + " graph(s) to " + out);
+    }
+
+    private static int layerStart(int layer, Spec spec) {
+        return (int) ((long) layer * spec.nodes() / spec.depth());
+    }
+
+    private static int layerOf(int v, Spec spec) {
+        // inverse of layerStart: largest layer with layerStart(layer) <= v
+        int layer = (int) (((long) v * spec.depth() + spec.depth() - 1) / spec.nodes());
+        while (layerStart(layer, spec) > v) layer--;
+        return layer;
+    }
+
+    private static double meanSccSize(Spec spec) {
+        int max = spec.maxSccSize();
+        if (spec.sccSizes() == SccSizes.UNIFORM) {
+            return (2 + max) / 2.0;
+        }
+        double num = 0;
+        double den = 0;
+        for (int s = 2; s <= Math.min(max, 1_000_000); s++) {
+            num += 1.0 / s;
+            den += 1.0 / ((double) s * s);
+        }
+        return num / den;
+    }
+
+    private static int drawSccSize(Spec spec, SplittableRandom rnd) {
+        int max = spec.maxSccSize();
+        if (spec.sccSizes() == SccSizes.UNIFORM) {
+            return 2 + rnd.nextInt(max - 1);
+        }
+        // inverse-CDF of the continuous Pareto(alpha = 1) on [2, max + 1): P(x) ~ x^-2
+        double u = rnd.nextDouble();
+        double x = 1.0 / (0.5 - u * (0.5 - 1.0 / (max + 1)));
+        return Math.min(max, (int) x);
+    }
+
+    private static double weight(Spec spec, SplittableRandom rnd) {
+        double lo = spec.weightMin();
+        double hi = spec.weightMax();
+        return switch (spec.weights()) {
+            case CONSTANT -> lo;
+            case UNIFORM -> hi == lo ? lo : lo + rnd.nextDouble() * (hi - lo);
+            case INTEGER -> Math.floor(lo) + rnd.nextLong((long) Math.floor(hi) - (long) Math.floor(lo) + 1);
+            case EXPONENTIAL -> Math.min(hi, lo - Math.log(1 - rnd.nextDouble()) * (hi - lo) / 4);
+        };
+    }
+
+    /**
+     * Affine bijection v -> (a * v + b) mod n with gcd(a, n) = 1.
+     */
+    private static final class Permutation {
+        private final long n;
+        private final long a;
+        private final long b;
+
+        Permutation(int n, long seed) {
+            SplittableRandom r = new SplittableRandom(seed);
+            this.n = n;
+            long candidate = n == 1 ? 1 : 1 + r.nextLong(n - 1);
+            while (gcd(candidate, n) != 1) {
+                candidate = candidate % (n - 1) + 1;
+            }
+            this.a = candidate;
+            this.b = n == 1 ? 0 : r.nextLong(n);
+        }
+
+        int apply(int v) {
+            return (int) ((a * v + b) % n);
+        }
+
+        private static long gcd(long x, long y) {
+            while (y != 0) {
+                long t = x % y;
+                x = y;
+                y = t;
+            }
+            return x;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package graphs.output;
+
+import graphs.csr.CsrGraph;
+import java.util.List;
+
+/**
+ * Pipeline result of one graph, kept in primitive form until it is written.
+ *
+ * @param edgesCount Declared edge count, or null if the input had none.
+ * @param density Declared density, or null (field omitted).
+ * @param isDag Declared isDAG flag, or null (field omitted).
+ * @param scc Components as returned by TarjanSCC.run.
+ * @param condensation Condensation DAG (written as an adjacency list).
+ * @param shortestTarget Component the reported shortest path leads to.
+ * @param phaseMs Time per phase in milliseconds, indexed by Phase.ordinal() (WRITE is not written).
+ */
+public record GraphResult(String id,
+                          int nodes,
+                          Integer edgesCount,
+                          String density,
+                          Boolean isDag,
+                          List<List<Integer>> scc,
+                          CsrGraph condensation,
+                          int[] condensationTopo,
+                          int[] derivedVertexOrder,
+                          int sourceVertex,
+                          int sourceComponent,
+                          double[] shortestDistances,
+                          int shortestTarget,
+                          int[] shortestPath,
+                          double[] criticalPathDistances,
+                          int[] criticalPath,
+                          double criticalPathLength,
+                          double elapsedMs,
+                          long dfsOps,
+                          long edgeOps,
+                          long topoOps,
+                          long relaxOps,
+                          double[] phaseMs) { }
@@ -0,0 +1,167 @@
+package graphs.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import graphs.csr.CsrGraph;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import metrics.Phase;
+
+/**
+ * Streams pipeline results to a file with Jackson's JsonGenerator, one graph at a time.
+ *
+ * Each graph is written (and flushed) as soon as write() is called, straight from its
+ * primitive arrays, so memory does not grow with the number of graphs.
+ * Every graph ends with a "phaseMs" object (parse ... longest; the write phase of a graph
+ * is only known after it has been written and goes to metrics.csv instead).
+ *
+ * Formats:
+ * - PRETTY: {"inputFile": ..., "graphs": [...]} indented with DefaultPrettyPrinter
+ *   (byte-identical to ObjectMapper.writerWithDefaultPrettyPrinter on the same data)
+ * - COMPACT: same document without whitespace
+ * - NDJSON: one graph object per line, no wrapper document
+ */
+public final class ResultWriter implements Closeable {
+
+    public enum Format {
+        PRETTY, COMPACT, NDJSON;
+
+        /**
+         * Output file name for an input file, e.g. small.json -> small-output.json / small-output.ndjson.
+         */
+        public String outputName(String inputName) {
+            String base = inputName.endsWith(".json") ? inputName.substring(0, inputName.length() - 5) : inputName;
+            return base + (this == NDJSON ? "-output.ndjson" : "-output.json");
+        }
+    }
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator gen;
+    private final Format format;
+
+    private ResultWriter(JsonGenerator gen, Format format) {
+        this.gen = gen;
+        this.format = format;
+    }
+
+    /**
+     * Creates the output file and writes the document header (not for NDJSON).
+     * @throws IOException if the file cannot be written.
+     */
+    public static ResultWriter open(Path out, String inputFile, Format format) throws IOException {
+        if (format == null) {
+            throw new IllegalArgumentException("format cannot be null");
+        }
+        JsonGenerator gen = FACTORY.createGenerator(out.toFile(), JsonEncoding.UTF8);
+        ResultWriter w = new ResultWriter(gen, format);
+        switch (format) {
+            case PRETTY -> gen.setPrettyPrinter(new DefaultPrettyPrinter());
+            case NDJSON -> gen.setRootValueSeparator(null);
+            default -> { }
+        }
+        if (format != Format.NDJSON) {
+            gen.writeStartObject();
+            gen.writeStringField("inputFile", inputFile);
+            gen.writeArrayFieldStart("graphs");
+        }
+        return w;
+    }
+
+    /**
+     * Writes one graph and flushes it to the file.
+     * @throws IOException if writing fails.
+     */
+    public void write(GraphResult r) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", r.id());
+        gen.writeNumberField("nodes", r.nodes());
+        gen.writeFieldName("edgesCount");
+        if (r.edgesCount() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(r.edgesCount());
+        }
+        if (r.density() != null) gen.writeStringField("density", r.density());
+        if (r.isDag() != null) gen.writeBooleanField("isDAG_input", r.isDag());
+
+        gen.writeNumberField("sccCount", r.scc().size());
+        gen.writeArrayFieldStart("scc");
+        for (List<Integer> comp : r.scc()) {
+            gen.writeStartArray();
+            for (int v : comp) {
+                gen.writeNumber(v);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        writeAdjacency("condensationAdj", r.condensation());
+        writeInts("condensationTopo", r.condensationTopo());
+        writeInts("derivedVertexOrder", r.derivedVertexOrder());
+
+        gen.writeNumberField("sourceVertex", r.sourceVertex());
+        gen.writeNumberField("sourceComponent", r.sourceComponent());
+        writeDoubles("shortestFromComponent", r.shortestDistances());
+        writeInts("shortestPathCondensed_src" + r.sourceComponent() + "_to_" + r.shortestTarget(), r.shortestPath());
+        writeDoubles("criticalPathDistances", r.criticalPathDistances());
+        writeInts("criticalPathCondensed", r.criticalPath());
+        gen.writeNumberField("criticalPathLength", r.criticalPathLength());
+
+        gen.writeNumberField("elapsedMs", r.elapsedMs());
+        gen.writeNumberField("dfsOps", r.dfsOps());
+        gen.writeNumberField("edgeOps", r.edgeOps());
+        gen.writeNumberField("topoOps", r.topoOps());
+        gen.writeNumberField("relaxOps", r.relaxOps());
+        gen.writeObjectFieldStart("phaseMs");
+        for (Phase p : Phase.values()) {
+            if (p != Phase.WRITE) {
+                gen.writeNumberField(p.label(), r.phaseMs()[p.ordinal()]);
+            }
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+        if (format == Format.NDJSON) {
+            gen.writeRaw('\n');
+        }
+        gen.flush();
+    }
+
+    /**
+     * Closes the document (not for NDJSON) and the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (format != Format.NDJSON) {
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        } finally {
+            gen.close();
+        }
+    }
+
+    private void writeInts(String name, int[] values) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeArray(values, 0, values.length);
+    }
+
+    private void writeDoubles(String name, double[] values) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeArray(values, 0, values.length);
+    }
+
+    private void writeAdjacency(String name, CsrGraph g) throws IOException {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        gen.writeArrayFieldStart(name);
+        for (int u = 0; u < g.nodes(); u++) {
+            gen.writeArray(targets, offsets[u], offsets[u + 1] - offsets[u]);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,117 @@
+package graphs.scc;
+
+import graphs.csr.CsrGraph;
+import java.util.Arrays;
+
+/**
+ * Single-pass builder of the condensation DAG in CSR form.
+ *
+ * Vertices are grouped by component with a counting sort (ascending vertex id inside
+ * each component), then every component's out-edges are scanned once. Duplicate
+ * component edges are detected with a stamp array (stamp[cv] == cu means cu→cv was
+ * already emitted) instead of a hash set per component, so the only allocations are
+ * a few int/double arrays of size V, E and K.
+ *
+ * Produces both views at once:
+ * - dag: unweighted, neighbours sorted ascending (same as TarjanSCC.buildCondensation)
+ * - weighted: neighbours in first-seen order, weight chosen by a ParallelEdgePolicy
+ */
+public final class CondensationBuilder {
+
+    /**
+     * Which weight a condensation edge gets when several original edges map onto it.
+     */
+    public enum ParallelEdgePolicy {
+        /** Weight of the first original edge seen (vertex order, then edge order). */
+        FIRST,
+        MIN,
+        MAX
+    }
+
+    /**
+     * @param dag Unweighted condensation with sorted adjacency.
+     * @param weighted Weighted condensation with first-seen adjacency order (same offsets as dag).
+     */
+    public record Condensation(CsrGraph dag, CsrGraph weighted) { }
+
+    private CondensationBuilder() { }
+
+    /**
+     * @param g Original graph (weights default to 1.0 when unweighted).
+     * @param componentId componentId[v] in [0, componentCount).
+     * @param componentCount Number of components.
+     * @param policy Weight rule for parallel edges.
+     * @return Unweighted and weighted condensation.
+     * @throws IllegalArgumentException on null or mismatched inputs.
+     */
+    public static Condensation build(CsrGraph g, int[] componentId, int componentCount,
+                                     ParallelEdgePolicy policy) {
+        if (g == null || componentId == null || componentId.length != g.nodes()) {
+            throw new IllegalArgumentException("componentId length must equal number of vertices");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy cannot be null");
+        }
+        int n = g.nodes();
+        int k = componentCount;
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+
+        // group vertices by component, ascending vertex id within a component
+        int[] start = new int[k + 1];
+        for (int c : componentId) {
+            start[c + 1]++;
+        }
+        for (int c = 0; c < k; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, k);
+        for (int v = 0; v < n; v++) {
+            members[fill[componentId[v]]++] = v;
+        }
+
+        // stamp[cv] = last source component that emitted an edge to cv; slot[cv] = its index
+        int[] stamp = new int[k];
+        Arrays.fill(stamp, -1);
+        int[] slot = new int[k];
+
+        int[] condOffsets = new int[k + 1];
+        int[] condTargets = new int[targets.length];
+        double[] condWeights = new double[targets.length];
+        int size = 0;
+        for (int cu = 0; cu < k; cu++) {
+            for (int i = start[cu]; i < start[cu + 1]; i++) {
+                int u = members[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int cv = componentId[targets[e]];
+                    if (cv == cu) continue;
+                    double w = g.weight(e);
+                    if (stamp[cv] != cu) {
+                        stamp[cv] = cu;
+                        slot[cv] = size;
+                        condTargets[size] = cv;
+                        condWeights[size++] = w;
+                    } else if (policy == ParallelEdgePolicy.MIN) {
+                        condWeights[slot[cv]] = Math.min(condWeights[slot[cv]], w);
+                    } else if (policy == ParallelEdgePolicy.MAX) {
+                        condWeights[slot[cv]] = Math.max(condWeights[slot[cv]], w);
+                    }
+                }
+            }
+            condOffsets[cu + 1] = size;
+        }
+
+        if (size < condTargets.length) {
+            condTargets = Arrays.copyOf(condTargets, size);
+            condWeights = Arrays.copyOf(condWeights, size);
+        }
+        int[] sorted = condTargets.clone();
+        for (int c = 0; c < k; c++) {
+            Arrays.sort(sorted, condOffsets[c], condOffsets[c + 1]);
+        }
+        return new Condensation(
+                new CsrGraph(k, condOffsets, sorted, null),
+                new CsrGraph(k, condOffsets, condTargets, condWeights));
+    }
+}
@@ -0,0 +1,736 @@
+package graphs.scc;
+
+import graphs.csr.CsrGraph;
+import java.util.*;
+import metrics.MetricsTracker;
+
+/**
+ * Strongly connected components of a graph that changes by single edge insertions
+ * and deletions, seeded from a finished {@link TarjanSCC} run.
+ *
+ * Keeps mutable in/out adjacency, a component label per vertex, the condensation as
+ * per-component neighbour maps with edge multiplicities, and a topological order of the
+ * condensation (Pearce–Kelly, as in DynamicTopologicalOrder), all updated in place:
+ * - insert u→v with comp(u) before comp(v) in the order: only a multiplicity changes.
+ * - insert u→v with comp(v) before comp(u): a forward search from comp(v) over components
+ *   positioned up to comp(u), and a backward search from comp(u) over components positioned
+ *   from comp(v). If the forward search reaches comp(u), the components found by both
+ *   searches (exactly those on a comp(v)→comp(u) path) are merged into the largest of them.
+ *   The order is repaired by reusing the positions of the searched components: backward
+ *   set, merged component, forward set. Cost is bounded by the components positioned
+ *   between the two endpoints and their edges.
+ * - delete u→v inside a component: Tarjan re-runs on that component only; if it splits,
+ *   condensation edges are recomputed from the component's vertices and the parts take
+ *   the component's place in the order (one pass over the order).
+ * - other updates only adjust a multiplicity.
+ *
+ * Internal labels (componentOf) are stable between updates that do not touch the component.
+ * components(), componentIds() and condensation() return snapshots normalized like
+ * TarjanSCC.run (components ordered by smallest vertex), for comparison with a full rerun.
+ */
+public final class DynamicSCC {
+
+    private final int n;
+    private final IntBag[] out;
+    private final IntBag[] in;
+    private final int[] comp;
+    // indexed by label (at most n labels); null = free label
+    private final List<IntBag> members = new ArrayList<>();
+    private final List<LabelCounts> condOut = new ArrayList<>();
+    private final List<LabelCounts> condIn = new ArrayList<>();
+    private final IntBag freeLabels = new IntBag();
+    private int count;
+
+    // topological order of the condensation: order[slot] = label or -1, pos[label] = slot
+    private final int[] order;
+    private final int[] pos;
+    private int slots;
+
+    // scratch, valid where the stamp equals the current epoch
+    private final int[] labelMark;
+    private final int[] labelMark2;
+    private final int[] forward, backward, moved, slotBuffer;
+    private final int[] seen;
+    private final int[] ids, low, stack, frames, cursor;
+    private final boolean[] onStack;
+    private int epoch;
+
+    private DynamicSCC(CsrGraph g, int[] componentId, int componentCount) {
+        this.n = g.nodes();
+        this.out = new IntBag[n];
+        this.in = new IntBag[n];
+        this.comp = componentId.clone();
+        this.count = componentCount;
+        this.order = new int[n];
+        this.pos = new int[n];
+        this.labelMark = new int[n];
+        this.labelMark2 = new int[n];
+        this.forward = new int[n];
+        this.backward = new int[n];
+        this.moved = new int[n];
+        this.slotBuffer = new int[n];
+        this.seen = new int[n];
+        this.ids = new int[n];
+        this.low = new int[n];
+        this.stack = new int[n];
+        this.frames = new int[n];
+        this.cursor = new int[n];
+        this.onStack = new boolean[n];
+
+        for (int v = 0; v < n; v++) {
+            out[v] = new IntBag(g.outDegree(v));
+            in[v] = new IntBag();
+        }
+        for (int c = 0; c < componentCount; c++) {
+            members.add(new IntBag());
+            condOut.add(new LabelCounts());
+            condIn.add(new LabelCounts());
+        }
+        for (int v = 0; v < n; v++) {
+            members.get(comp[v]).add(v);
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                out[u].add(v);
+                in[v].add(u);
+                if (comp[u] != comp[v]) {
+                    addCondEdge(comp[u], comp[v], 1);
+                }
+            }
+        }
+
+        // Kahn over the condensation, queueing straight into the order
+        int[] indegree = new int[componentCount];
+        int tail = 0;
+        for (int c = 0; c < componentCount; c++) {
+            indegree[c] = condIn.get(c).size;
+            if (indegree[c] == 0) {
+                order[tail++] = c;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int c = order[head];
+            pos[c] = head;
+            LabelCounts succ = condOut.get(c);
+            for (int i = 0; i < succ.keys.length; i++) {
+                int y = succ.keys[i];
+                if (y != LabelCounts.EMPTY && --indegree[y] == 0) {
+                    order[tail++] = y;
+                }
+            }
+        }
+        slots = componentCount;
+    }
+
+    /**
+     * Seeds the structure from a graph and a Tarjan instance on which run() was called.
+     * @throws IllegalArgumentException if the graph is null or does not match the Tarjan result.
+     * @throws IllegalStateException if run() was not called.
+     */
+    public static DynamicSCC from(CsrGraph g, TarjanSCC tarjan) {
+        if (g == null || tarjan == null) {
+            throw new IllegalArgumentException("graph and tarjan cannot be null");
+        }
+        int[] componentId = tarjan.getComponentIds();
+        if (componentId.length != g.nodes()) {
+            throw new IllegalArgumentException("componentId length must equal number of vertices");
+        }
+        int k = 0;
+        for (int c : componentId) {
+            k = Math.max(k, c + 1);
+        }
+        return new DynamicSCC(g, componentId, k);
+    }
+
+    public int nodes() { return n; }
+    public int componentCount() { return count; }
+
+    /**
+     * Internal label of v's component (not normalized; see componentIds()).
+     */
+    public int componentOf(int v) {
+        checkVertex(v);
+        return comp[v];
+    }
+
+    /**
+     * Adds edge u→v.
+     * Metrics: edgeOps for the condensation edges scanned by the two searches.
+     * @return True if the edge closed a cycle and components were merged.
+     */
+    public boolean insertEdge(int u, int v, MetricsTracker m) {
+        checkVertex(u);
+        checkVertex(v);
+        m.start();
+        out[u].add(v);
+        in[v].add(u);
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu == cv) {
+            m.stop();
+            return false;
+        }
+        addCondEdge(cu, cv, 1);
+        if (pos[cu] < pos[cv]) {
+            m.stop();
+            return false;
+        }
+
+        int lower = pos[cv];
+        int upper = pos[cu];
+        long scanned = 0;
+
+        // forward from cv over components positioned up to cu
+        int fwd = ++epoch;
+        int f = 0;
+        labelMark[cv] = fwd;
+        forward[f++] = cv;
+        for (int i = 0; i < f; i++) {
+            int[] next = condOut.get(forward[i]).keys;
+            for (int y : next) {
+                if (y == LabelCounts.EMPTY) continue;
+                scanned++;
+                if (labelMark[y] != fwd && pos[y] <= upper) {
+                    labelMark[y] = fwd;
+                    forward[f++] = y;
+                }
+            }
+        }
+
+        // backward from cu over components positioned from cv on
+        int bwd = ++epoch;
+        int b = 0;
+        labelMark2[cu] = bwd;
+        backward[b++] = cu;
+        for (int i = 0; i < b; i++) {
+            int[] prev = condIn.get(backward[i]).keys;
+            for (int y : prev) {
+                if (y == LabelCounts.EMPTY) continue;
+                scanned++;
+                if (labelMark2[y] != bwd && pos[y] >= lower) {
+                    labelMark2[y] = bwd;
+                    backward[b++] = y;
+                }
+            }
+        }
+        m.addEdgeOps(scanned);
+
+        // new order over the same positions: backward-only, on a cv→cu path, forward-only
+        int k = 0;
+        for (int i = 0; i < b; i++) {
+            if (labelMark[backward[i]] != fwd) moved[k++] = backward[i];
+        }
+        int onlyBackward = k;
+        int cycleStart = k;
+        for (int i = 0; i < f; i++) {
+            if (labelMark2[forward[i]] == bwd) moved[k++] = forward[i];
+        }
+        int cycleEnd = k;
+        for (int i = 0; i < f; i++) {
+            if (labelMark2[forward[i]] != bwd) moved[k++] = forward[i];
+        }
+        int[] positions = slotBuffer;
+        for (int i = 0; i < k; i++) {
+            positions[i] = pos[moved[i]];
+        }
+        Arrays.sort(positions, 0, k);
+        sortByPosition(0, onlyBackward);
+        sortByPosition(cycleEnd, k);
+
+        boolean merged = cycleEnd > cycleStart;
+        int next = 0;
+        for (int i = 0; i < onlyBackward; i++) {
+            place(moved[i], positions[next++]);
+        }
+        if (merged) {
+            int survivor = merge(cycleStart, cycleEnd);
+            place(survivor, positions[next++]);
+            while (next < cycleEnd) {
+                order[positions[next++]] = -1;
+            }
+        }
+        for (int i = cycleEnd; i < k; i++) {
+            place(moved[i], positions[next++]);
+        }
+        m.stop();
+        return merged;
+    }
+
+    /**
+     * Removes one copy of edge u→v.
+     * Metrics: dfsOps/edgeOps of the Tarjan pass, edgeOps for the edges rescanned after a split.
+     * @return True if the edge was inside a component and that component split.
+     * @throws IllegalArgumentException if the edge is not present.
+     */
+    public boolean deleteEdge(int u, int v, MetricsTracker m) {
+        checkVertex(u);
+        checkVertex(v);
+        if (!out[u].remove(v)) {
+            throw new IllegalArgumentException("Edge not present: " + u + " -> " + v);
+        }
+        in[v].remove(u);
+        m.start();
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu != cv) {
+            addCondEdge(cu, cv, -1);
+            m.stop();
+            return false;
+        }
+
+        List<IntBag> parts = tarjanWithin(cu, m);
+        if (parts.size() == 1) {
+            m.stop();
+            return false;
+        }
+        split(cu, parts, m);
+        m.stop();
+        return true;
+    }
+
+    /**
+     * Components ordered by smallest vertex, vertices ascending (like a fresh TarjanSCC run
+     * up to the order of vertices inside a component).
+     */
+    public List<List<Integer>> components() {
+        List<List<Integer>> result = new ArrayList<>(count);
+        for (IntBag bag : members) {
+            if (bag == null) continue;
+            int[] vs = bag.toArray();
+            Arrays.sort(vs);
+            List<Integer> list = new ArrayList<>(vs.length);
+            for (int v : vs) {
+                list.add(v);
+            }
+            result.add(list);
+        }
+        result.sort(Comparator.comparingInt(c -> c.get(0)));
+        return result;
+    }
+
+    /**
+     * componentId[v] in the order of components().
+     */
+    public int[] componentIds() {
+        int[] normalized = normalization();
+        int[] ids = new int[n];
+        for (int v = 0; v < n; v++) {
+            ids[v] = normalized[comp[v]];
+        }
+        return ids;
+    }
+
+    /**
+     * Condensation DAG in the order of components(), neighbours sorted ascending
+     * (same shape as TarjanSCC.buildCondensationCsr()).
+     */
+    public CsrGraph condensation() {
+        int[] normalized = normalization();
+        int[] byIndex = new int[count];
+        for (int label = 0; label < members.size(); label++) {
+            if (members.get(label) != null) {
+                byIndex[normalized[label]] = label;
+            }
+        }
+        int[] offsets = new int[count + 1];
+        for (int c = 0; c < count; c++) {
+            offsets[c + 1] = offsets[c] + condOut.get(byIndex[c]).size;
+        }
+        int[] targets = new int[offsets[count]];
+        for (int c = 0; c < count; c++) {
+            int i = offsets[c];
+            for (int label : condOut.get(byIndex[c]).keys) {
+                if (label != LabelCounts.EMPTY) {
+                    targets[i++] = normalized[label];
+                }
+            }
+            Arrays.sort(targets, offsets[c], offsets[c + 1]);
+        }
+        return new CsrGraph(count, offsets, targets, null);
+    }
+
+    // label -> index in components() order
+    private int[] normalization() {
+        int[] minVertex = new int[members.size()];
+        for (int v = n - 1; v >= 0; v--) {
+            minVertex[comp[v]] = v;
+        }
+        // (smallest vertex, label) packed so one primitive sort orders the labels
+        long[] keys = new long[count];
+        int k = 0;
+        for (int label = 0; label < members.size(); label++) {
+            if (members.get(label) != null) {
+                keys[k++] = (long) minVertex[label] << 32 | label;
+            }
+        }
+        Arrays.sort(keys);
+        int[] normalized = new int[members.size()];
+        for (int i = 0; i < count; i++) {
+            normalized[(int) keys[i]] = i;
+        }
+        return normalized;
+    }
+
+    private void place(int label, int slot) {
+        pos[label] = slot;
+        order[slot] = label;
+    }
+
+    // insertion sort of moved[from, to) by current position (the searched sets are small)
+    private void sortByPosition(int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int x = moved[i];
+            int j = i - 1;
+            while (j >= from && pos[moved[j]] > pos[x]) {
+                moved[j + 1] = moved[j];
+                j--;
+            }
+            moved[j + 1] = x;
+        }
+    }
+
+    /**
+     * Merges the labels moved[from, to) into the largest one.
+     * @return The surviving label.
+     */
+    private int merge(int from, int to) {
+        int mark = ++epoch;
+        int survivor = moved[from];
+        for (int i = from; i < to; i++) {
+            labelMark2[moved[i]] = mark;
+            if (members.get(moved[i]).size > members.get(survivor).size) {
+                survivor = moved[i];
+            }
+        }
+        IntBag target = members.get(survivor);
+        for (int i = from; i < to; i++) {
+            int x = moved[i];
+            if (x == survivor) continue;
+            IntBag bag = members.get(x);
+            for (int j = 0; j < bag.size; j++) {
+                comp[bag.get(j)] = survivor;
+                target.add(bag.get(j));
+            }
+            LabelCounts outs = condOut.get(x);
+            for (int s = 0; s < outs.keys.length; s++) {
+                int y = outs.keys[s];
+                if (y == LabelCounts.EMPTY) continue;
+                condIn.get(y).remove(x);
+                if (labelMark2[y] != mark) {
+                    addCondEdge(survivor, y, outs.counts[s]);
+                }
+            }
+            LabelCounts ins = condIn.get(x);
+            for (int s = 0; s < ins.keys.length; s++) {
+                int y = ins.keys[s];
+                if (y == LabelCounts.EMPTY) continue;
+                condOut.get(y).remove(x);
+                if (labelMark2[y] != mark) {
+                    addCondEdge(y, survivor, ins.counts[s]);
+                }
+            }
+            release(x);
+        }
+        return survivor;
+    }
+
+    /**
+     * Replaces component c by the given parts (in Tarjan's completion order, i.e. reverse
+     * topological); the largest part keeps label c.
+     */
+    private void split(int c, List<IntBag> parts, MetricsTracker m) {
+        LabelCounts outs = condOut.get(c);
+        for (int y : outs.keys) {
+            if (y != LabelCounts.EMPTY) condIn.get(y).remove(c);
+        }
+        LabelCounts ins = condIn.get(c);
+        for (int y : ins.keys) {
+            if (y != LabelCounts.EMPTY) condOut.get(y).remove(c);
+        }
+        outs.clear();
+        ins.clear();
+
+        int largest = 0;
+        for (int i = 1; i < parts.size(); i++) {
+            if (parts.get(i).size > parts.get(largest).size) largest = i;
+        }
+        int mark = ++epoch;
+        int[] labels = new int[parts.size()];
+        for (int i = 0; i < parts.size(); i++) {
+            IntBag part = parts.get(i);
+            int label = i == largest ? c : acquire();
+            labels[i] = label;
+            members.set(label, part);
+            labelMark[label] = mark;
+            for (int j = 0; j < part.size; j++) {
+                comp[part.get(j)] = label;
+            }
+        }
+
+        // out-edges cover edges between parts and to the outside; in-edges only from the outside
+        long scanned = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            IntBag part = parts.get(i);
+            int p = labels[i];
+            for (int j = 0; j < part.size; j++) {
+                int x = part.get(j);
+                IntBag succ = out[x];
+                scanned += succ.size;
+                for (int k = 0; k < succ.size; k++) {
+                    int cy = comp[succ.get(k)];
+                    if (cy != p) {
+                        addCondEdge(p, cy, 1);
+                    }
+                }
+                IntBag pred = in[x];
+                scanned += pred.size;
+                for (int k = 0; k < pred.size; k++) {
+                    int cy = comp[pred.get(k)];
+                    if (labelMark[cy] != mark) {
+                        addCondEdge(cy, p, 1);
+                    }
+                }
+            }
+        }
+        m.addEdgeOps(scanned);
+        count += parts.size() - 1;
+
+        // the parts take c's place in the order; compacting also drops slots freed by merges
+        int at = pos[c];
+        int k = 0;
+        for (int s = 0; s < slots; s++) {
+            int label = order[s];
+            if (s == at) {
+                for (int i = labels.length - 1; i >= 0; i--) {
+                    slotBuffer[k++] = labels[i];
+                }
+            } else if (label >= 0) {
+                slotBuffer[k++] = label;
+            }
+        }
+        for (int s = 0; s < k; s++) {
+            place(slotBuffer[s], s);
+        }
+        slots = k;
+    }
+
+    /**
+     * Iterative Tarjan restricted to the vertices of component c and edges inside it.
+     */
+    private List<IntBag> tarjanWithin(int c, MetricsTracker m) {
+        int visit = ++epoch;
+        List<IntBag> parts = new ArrayList<>();
+        IntBag vertices = members.get(c);
+        int counter = 0;
+        int stackTop = 0;
+        long scanned = 0;
+        for (int r = 0; r < vertices.size; r++) {
+            int root = vertices.get(r);
+            if (seen[root] == visit) continue;
+            int frameTop = 0;
+            frames[frameTop++] = root;
+            seen[root] = visit;
+            cursor[root] = 0;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+            ids[root] = low[root] = counter++;
+
+            while (frameTop > 0) {
+                int at = frames[frameTop - 1];
+                if (cursor[at] < out[at].size) {
+                    int to = out[at].get(cursor[at]++);
+                    scanned++;
+                    if (comp[to] != c) continue;
+                    if (seen[to] != visit) {
+                        frames[frameTop++] = to;
+                        seen[to] = visit;
+                        cursor[to] = 0;
+                        stack[stackTop++] = to;
+                        onStack[to] = true;
+                        ids[to] = low[to] = counter++;
+                    } else if (onStack[to]) {
+                        low[at] = Math.min(low[at], ids[to]);
+                    }
+                    continue;
+                }
+                frameTop--;
+                if (frameTop > 0) {
+                    int parent = frames[frameTop - 1];
+                    low[parent] = Math.min(low[parent], low[at]);
+                }
+                if (ids[at] == low[at]) {
+                    IntBag part = new IntBag();
+                    while (true) {
+                        int node = stack[--stackTop];
+                        onStack[node] = false;
+                        part.add(node);
+                        if (node == at) break;
+                    }
+                    parts.add(part);
+                }
+            }
+        }
+        m.addDfsOps(counter);
+        m.addEdgeOps(scanned);
+        return parts;
+    }
+
+    private void addCondEdge(int from, int to, int delta) {
+        condOut.get(from).add(to, delta);
+        condIn.get(to).add(from, delta);
+    }
+
+    // label for a new component; the caller sets its members
+    private int acquire() {
+        if (freeLabels.size > 0) {
+            int label = freeLabels.get(--freeLabels.size);
+            condOut.set(label, new LabelCounts());
+            condIn.set(label, new LabelCounts());
+            return label;
+        }
+        members.add(null);
+        condOut.add(new LabelCounts());
+        condIn.add(new LabelCounts());
+        return members.size() - 1;
+    }
+
+    private void release(int label) {
+        members.set(label, null);
+        condOut.set(label, null);
+        condIn.set(label, null);
+        freeLabels.add(label);
+        count--;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex out of range: " + v);
+        }
+    }
+
+    /**
+     * Growable int list with unordered removal.
+     */
+    private static final class IntBag {
+        int[] items;
+        int size;
+
+        IntBag() { this(4); }
+
+        IntBag(int capacity) { items = new int[Math.max(capacity, 1)]; }
+
+        int get(int i) { return items[i]; }
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        // removes one occurrence by swapping in the last element
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == value) {
+                    items[i] = items[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int[] toArray() { return Arrays.copyOf(items, size); }
+    }
+
+    /**
+     * Open-addressing map from neighbour label to edge multiplicity (linear probing,
+     * at most half full). Iterate over keys[i] != EMPTY; counts[i] is the multiplicity.
+     */
+    private static final class LabelCounts {
+        static final int EMPTY = -1;
+
+        int[] keys;
+        int[] counts;
+        int size;
+
+        LabelCounts() {
+            keys = new int[4];
+            counts = new int[4];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        // adds delta to the multiplicity of key; a multiplicity of 0 removes the key
+        void add(int key, int delta) {
+            int i = indexOf(key);
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                counts[i] = delta;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else if ((counts[i] += delta) == 0) {
+                removeAt(i);
+            }
+        }
+
+        void remove(int key) {
+            int i = indexOf(key);
+            if (keys[i] != EMPTY) {
+                removeAt(i);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private int home(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (keys.length - 1);
+        }
+
+        // slot holding key, or the empty slot where it would go
+        private int indexOf(int key) {
+            int mask = keys.length - 1;
+            int i = home(key);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        // backward-shift deletion: later entries of the probe run move up into the hole
+        private void removeAt(int i) {
+            int mask = keys.length - 1;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (keys[j] == EMPTY) break;
+                if (((j - home(keys[j])) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    counts[i] = counts[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            size--;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int j = indexOf(oldKeys[i]);
+                    keys[j] = oldKeys[i];
+                    counts[j] = oldCounts[i];
+                }
+            }
+        }
+    }
+}
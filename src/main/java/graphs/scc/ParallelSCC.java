@@ -0,0 +1,289 @@
+package graphs.scc;
+
+import graphs.csr.CsrGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import metrics.MetricsTracker;
+
+/**
+ * Multi-threaded SCC decomposition (forward-backward with trimming) on a CSR graph.
+ *
+ * 1) Trimming: vertices with no in- or out-edges left are singleton components; they are
+ *    peeled level by level (parallel when a level is large) by {@link TrivialSccTrimmer}.
+ * 2) Forward-backward on the remaining core: from a pivot, the vertices reached both
+ *    forward and backward form its SCC; the forward-only, backward-only and unreached
+ *    vertices are three independent subsets, each split again in its own task.
+ *    Large BFS levels run in parallel; subsets below SEQUENTIAL_CUTOFF run Tarjan on
+ *    their induced subgraph instead.
+ *
+ * Output is normalized like {@link TarjanSCC#run}: components sorted by smallest vertex,
+ * members ascending, so components and componentId are identical to Tarjan's.
+ *
+ * Metrics: reported like TarjanSCC.run (dfsOps = n, edgeOps = m), so the published
+ * counters do not depend on the engine. Repeated BFS scans across splits are not counted.
+ */
+public final class ParallelSCC {
+
+    // below this many frontier vertices a BFS level is expanded on the current thread
+    private static final int PARALLEL_THRESHOLD = 2048;
+    // subsets smaller than this are finished with sequential Tarjan
+    private static final int SEQUENTIAL_CUTOFF = 4096;
+    private static final int TRIMMED = -1;
+    private static final int CORE = 0;
+
+    private ParallelSCC() { }
+
+    /**
+     * @param components Components sorted by smallest vertex, members ascending.
+     * @param componentId componentId[v] = index of v's component in components.
+     */
+    public record Result(List<List<Integer>> components, int[] componentId) { }
+
+    /**
+     * Runs on the common ForkJoinPool.
+     * @throws IllegalArgumentException if g is null or empty.
+     */
+    public static Result run(CsrGraph g, MetricsTracker m) {
+        return run(g, m, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs on the given pool.
+     * @throws IllegalArgumentException if g is null or empty.
+     */
+    public static Result run(CsrGraph g, MetricsTracker m, ForkJoinPool pool) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
+        }
+        m.start();
+        Engine e = new Engine(g, pool);
+        int[] core = e.trim();
+        if (core.length > 0) {
+            pool.invoke(new Split(null, e, core, CORE));
+        }
+        Result r = e.normalize();
+        m.addDfsOps(g.nodes());
+        m.addEdgeOps(g.edges());
+        m.stop();
+        return r;
+    }
+
+    /**
+     * Shared state of one run. Every vertex belongs to exactly one live subset (label),
+     * and only the task owning that subset writes its rep/localId entries; labels are
+     * claimed with CAS, so concurrent BFS levels visit each vertex once.
+     */
+    private static final class Engine {
+        final ForkJoinPool pool;
+        final int n;
+        final int[] offsets, targets;
+        final TrivialSccTrimmer trimmer;
+        final int[] rOffsets, rSources; // reverse CSR
+        final AtomicIntegerArray part;
+        final AtomicInteger nextLabel = new AtomicInteger(CORE + 1);
+        final int[] rep; // smallest vertex of v's component
+        final int[] localId; // scratch for induced subgraphs
+
+        Engine(CsrGraph g, ForkJoinPool pool) {
+            this.pool = pool;
+            this.n = g.nodes();
+            this.offsets = g.offsets();
+            this.targets = g.targets();
+            this.trimmer = new TrivialSccTrimmer(g);
+            this.rOffsets = trimmer.inOffsets();
+            this.rSources = trimmer.sources();
+            this.part = new AtomicIntegerArray(n);
+            this.rep = new int[n];
+            this.localId = new int[n];
+        }
+
+        /**
+         * Peels vertices without live in- or out-edges into singleton components.
+         * @return The remaining core, ascending.
+         */
+        int[] trim() {
+            TrivialSccTrimmer.Result peeled = trimmer.peel(pool);
+            for (int i = 0; i < peeled.count(); i++) {
+                int v = peeled.order()[i];
+                part.set(v, TRIMMED);
+                rep[v] = v;
+            }
+
+            int[] core = new int[n - peeled.count()];
+            int c = 0;
+            for (int v = 0; v < n; v++) {
+                if (part.get(v) == CORE) {
+                    core[c++] = v;
+                }
+            }
+            return core;
+        }
+
+        /**
+         * Level-synchronous BFS inside one subset. Moves every reached vertex labelled
+         * from[k] to to[k] (first matching k).
+         * The start vertex must already carry one of the to labels.
+         */
+        void bfs(int start, boolean forward, int[] from, int[] to, int[] buf) {
+            int[] off = forward ? offsets : rOffsets;
+            int[] adj = forward ? targets : rSources;
+            buf[0] = start;
+            int size = 1;
+            int level = 0;
+            AtomicInteger tail = new AtomicInteger();
+            while (level < size) {
+                int begin = level;
+                int end = size;
+                tail.set(end);
+                if (end - begin < PARALLEL_THRESHOLD) {
+                    for (int i = begin; i < end; i++) {
+                        expand(buf[i], off, adj, from, to, buf, tail);
+                    }
+                } else {
+                    IntStream.range(begin, end).parallel()
+                            .forEach(i -> expand(buf[i], off, adj, from, to, buf, tail));
+                }
+                level = end;
+                size = tail.get();
+            }
+        }
+
+        private void expand(int u, int[] off, int[] adj, int[] from, int[] to, int[] buf, AtomicInteger tail) {
+            for (int e = off[u]; e < off[u + 1]; e++) {
+                int w = adj[e];
+                for (int k = 0; k < from.length; k++) {
+                    if (part.compareAndSet(w, from[k], to[k])) {
+                        buf[tail.getAndIncrement()] = w;
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tarjan on the subgraph induced by one subset (vertices ascending, all labelled label).
+         */
+        void sequential(int[] vertices, int label) {
+            int k = vertices.length;
+            for (int i = 0; i < k; i++) {
+                localId[vertices[i]] = i;
+            }
+            CsrGraph.Builder b = new CsrGraph.Builder();
+            for (int i = 0; i < k; i++) {
+                int u = vertices[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (part.get(w) == label) {
+                        b.addEdge(i, localId[w], 1.0);
+                    }
+                }
+            }
+            for (List<Integer> comp : TarjanSCC.of(b.build(k)).run(new MetricsTracker())) {
+                int min = Integer.MAX_VALUE;
+                for (int i : comp) {
+                    min = Math.min(min, vertices[i]);
+                }
+                for (int i : comp) {
+                    rep[vertices[i]] = min;
+                }
+            }
+        }
+
+        /**
+         * Components sorted by smallest vertex, like TarjanSCC.run.
+         */
+        Result normalize() {
+            int[] componentId = new int[n];
+            List<List<Integer>> components = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                if (rep[v] == v) {
+                    componentId[v] = components.size();
+                    components.add(new ArrayList<>(1));
+                } else {
+                    componentId[v] = componentId[rep[v]];
+                }
+                components.get(componentId[v]).add(v);
+            }
+            return new Result(components, componentId);
+        }
+    }
+
+    /**
+     * Splits one subset (ascending vertices, all labelled label) around its smallest vertex
+     * and forks the three remainders. A CountedCompleter, so no task waits for its children
+     * and long chains of splits do not nest on the thread stack.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    private static final class Split extends CountedCompleter<Void> {
+        private final Engine e;
+        private final int[] vertices;
+        private final int label;
+
+        Split(CountedCompleter<?> parent, Engine e, int[] vertices, int label) {
+            super(parent);
+            this.e = e;
+            this.vertices = vertices;
+            this.label = label;
+        }
+
+        @Override
+        public void compute() {
+            if (vertices.length < SEQUENTIAL_CUTOFF) {
+                e.sequential(vertices, label);
+                tryComplete();
+                return;
+            }
+            int fw = e.nextLabel.getAndIncrement();
+            int scc = e.nextLabel.getAndIncrement();
+            int bw = e.nextLabel.getAndIncrement();
+            int pivot = vertices[0];
+            int[] buf = new int[vertices.length];
+
+            e.part.set(pivot, fw);
+            e.bfs(pivot, true, new int[]{label}, new int[]{fw}, buf);
+            e.part.set(pivot, scc);
+            e.bfs(pivot, false, new int[]{fw, label}, new int[]{scc, bw}, buf);
+
+            int fwCount = 0, bwCount = 0, restCount = 0;
+            for (int v : vertices) {
+                int p = e.part.get(v);
+                if (p == scc) {
+                    e.rep[v] = pivot;
+                } else if (p == fw) {
+                    fwCount++;
+                } else if (p == bw) {
+                    bwCount++;
+                } else {
+                    restCount++;
+                }
+            }
+            int[] fwSet = new int[fwCount], bwSet = new int[bwCount], rest = new int[restCount];
+            fwCount = bwCount = restCount = 0;
+            for (int v : vertices) {
+                int p = e.part.get(v);
+                if (p == fw) fwSet[fwCount++] = v;
+                else if (p == bw) bwSet[bwCount++] = v;
+                else if (p == label) rest[restCount++] = v;
+            }
+
+            fork(fwSet, fw);
+            fork(bwSet, bw);
+            fork(rest, label);
+            tryComplete();
+        }
+
+        private void fork(int[] subset, int subsetLabel) {
+            if (subset.length == 1) {
+                e.rep[subset[0]] = subset[0];
+            } else if (subset.length > 1) {
+                addToPendingCount(1);
+                new Split(this, e, subset, subsetLabel).fork();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package graphs.scc;
 
+import graphs.csr.CsrGraph;
 import java.util.*;
 import metrics.MetricsTracker;
 
@@ -8,49 +9,106 @@ import metrics.MetricsTracker;
  * Now also builds:
  *  - componentId[v]  -> which SCC the vertex belongs to
  *  - condensation DAG over SCCs
+ * The DFS is iterative (explicit frame stack), so deep graphs run on default stack sizes.
+ * Runs natively on {@link CsrGraph}; the adjacency-list constructor converts once.
+ *
+ * Optional trimming ({@link #trimmed(CsrGraph)}): before the DFS, vertices with no
+ * remaining in- or out-edges are peeled iteratively into singleton components (by
+ * {@link TrivialSccTrimmer}, the same pass ParallelSCC starts with), and Tarjan only runs
+ * on the remaining core. Output and counters are the same as without trimming.
  */
 public class TarjanSCC {
 
-    private final List<List<Integer>> adj;
+    private final CsrGraph graph;
     private final int n;
     private final int[] ids, low;
     private final boolean[] onStack;
-    private final Deque<Integer> stack;
+    private final int[] stack;
+    private int stackTop;
+    // explicit DFS frames and per-vertex edge cursor (replaces recursion)
+    private final int[] frames;
+    private final int[] cursor;
     private int id;
     private final List<List<Integer>> components;
+    private final boolean trim;
 
     // filled after run()
     private int[] componentId;
 
     public TarjanSCC(List<List<Integer>> adj) {
-        if (adj == null || adj.isEmpty()) {
-            throw new IllegalArgumentException("Graph adjacency list cannot be null or empty");
+        this(checked(adj));
+    }
+
+    private TarjanSCC(CsrGraph graph) {
+        this(graph, false);
+    }
+
+    private TarjanSCC(CsrGraph graph, boolean trim) {
+        if (graph == null || graph.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
         }
-        this.adj = adj;
-        this.n = adj.size();
+        this.graph = graph;
+        this.n = graph.nodes();
         this.ids = new int[n];
         this.low = new int[n];
         this.onStack = new boolean[n];
-        this.stack = new ArrayDeque<>();
+        this.stack = new int[n];
+        this.frames = new int[n];
+        this.cursor = new int[n];
         this.components = new ArrayList<>();
+        this.trim = trim;
         Arrays.fill(ids, -1);
     }
 
+    /**
+     * Creates a Tarjan instance over a CSR graph (no conversion).
+     */
+    public static TarjanSCC of(CsrGraph graph) {
+        return new TarjanSCC(graph);
+    }
+
+    /**
+     * Creates a Tarjan instance that trims trivial SCCs before the DFS (see class comment).
+     * Pays off on mostly acyclic graphs, where most components are single vertices.
+     */
+    public static TarjanSCC trimmed(CsrGraph graph) {
+        return new TarjanSCC(graph, true);
+    }
+
+    private static CsrGraph checked(List<List<Integer>> adj) {
+        if (adj == null || adj.isEmpty()) {
+            throw new IllegalArgumentException("Graph adjacency list cannot be null or empty");
+        }
+        return CsrGraph.fromAdjacency(adj);
+    }
+
     /**
      * Runs Tarjan and returns SCCs.
-     * Components are sorted deterministically.
+     * Components are sorted by smallest vertex and list their members ascending, so the
+     * output does not depend on the DFS order (or on trimming, or on the SCC engine).
+     * Metrics: dfsOps = n (every vertex is assigned once), edgeOps = m (every edge is
+     * scanned once, by the DFS or, for a trimmed vertex, by the peeling pass).
      */
     public List<List<Integer>> run(MetricsTracker m) {
         m.start();
+        // out-edges of trimmed vertices are never scanned by the DFS
+        long trimmedOutEdges = trim ? trimTrivial(m) : 0;
+        int trimmedCount = id;
         for (int i = 0; i < n; i++) {
             if (ids[i] == -1) {
-                dfs(i, m);
+                dfs(i);
             }
         }
+        // every remaining vertex is entered once and scans each out-edge once: report in bulk
+        m.addDfsOps(n - trimmedCount);
+        m.addEdgeOps(graph.edges() - trimmedOutEdges);
         m.stop();
 
         // sort SCCs for stable output
-        components.sort(Comparator.comparingInt(c -> Collections.min(c)));
+        for (List<Integer> comp : components) {
+            Collections.sort(comp);
+        }
+        components.sort(Comparator.comparingInt(c -> c.get(0)));
 
         // build componentId[v]
         componentId = new int[n];
@@ -75,62 +133,106 @@ public class TarjanSCC {
 
     /**
      * Builds condensation DAG: each SCC is a node, edges go between SCCs.
-     * No duplicates, sorted adjacency lists.
+     * No duplicates, sorted adjacency lists (read-only view over the CSR condensation).
      */
     public List<List<Integer>> buildCondensation() {
         if (componentId == null) {
             throw new IllegalStateException("run() must be called before buildCondensation()");
         }
-        int k = components.size();
-        List<Set<Integer>> tmp = new ArrayList<>(k);
-        for (int i = 0; i < k; i++) {
-            tmp.add(new HashSet<>());
-        }
+        return buildCondensationCsr().adjacencyView();
+    }
 
-        for (int u = 0; u < n; u++) {
-            int cu = componentId[u];
-            for (int v : adj.get(u)) {
-                int cv = componentId[v];
-                if (cu != cv) {
-                    tmp.get(cu).add(cv);
-                }
-            }
+    /**
+     * Same as buildCondensation(), in CSR form.
+     */
+    public CsrGraph buildCondensationCsr() {
+        return condensation(CondensationBuilder.ParallelEdgePolicy.FIRST).dag();
+    }
+
+    /**
+     * Builds the unweighted and weighted condensation in one pass (see {@link CondensationBuilder}).
+     * @param policy Weight rule when several original edges join the same two components.
+     */
+    public CondensationBuilder.Condensation condensation(CondensationBuilder.ParallelEdgePolicy policy) {
+        if (componentId == null) {
+            throw new IllegalStateException("run() must be called before condensation()");
         }
+        return CondensationBuilder.build(graph, componentId, components.size(), policy);
+    }
 
-        List<List<Integer>> dag = new ArrayList<>(k);
-        for (int i = 0; i < k; i++) {
-            List<Integer> out = new ArrayList<>(tmp.get(i));
-            Collections.sort(out);
-            dag.add(out);
+    /**
+     * Peels vertices without remaining in- or out-edges into singleton components with
+     * {@link TrivialSccTrimmer} (they get ids 0..k-1 and are never on the stack, so the DFS
+     * skips them).
+     * Metrics: dfsOps per peeled vertex, edgeOps for its out-edges (releasing its in-edges
+     * is the mirror of an out-edge scan and is not counted twice).
+     * @return Total out-degree of the peeled vertices.
+     */
+    private long trimTrivial(MetricsTracker m) {
+        TrivialSccTrimmer.Result peeled = new TrivialSccTrimmer(graph).peel(null);
+        for (int i = 0; i < peeled.count(); i++) {
+            int v = peeled.order()[i];
+            ids[v] = id++;
+            List<Integer> comp = new ArrayList<>(1);
+            comp.add(v);
+            components.add(comp);
         }
-        return dag;
+        m.addDfsOps(peeled.count());
+        m.addEdgeOps(peeled.outEdges());
+        return peeled.outEdges();
     }
 
-    private void dfs(int at, MetricsTracker m) {
-        m.incDfs();
-        stack.push(at);
-        onStack[at] = true;
-        ids[at] = low[at] = id++;
-
-        for (int to : adj.get(at)) {
-            m.incEdge();
-            if (ids[to] == -1) {
-                dfs(to, m);
-                low[at] = Math.min(low[at], low[to]);
-            } else if (onStack[to]) {
-                low[at] = Math.min(low[at], ids[to]);
+    /**
+     * Iterative Tarjan DFS rooted at {@code root}.
+     * Uses an explicit frame stack plus a per-vertex edge cursor instead of recursion,
+     * so long chains do not overflow the thread stack. Visits vertices and edges in
+     * exactly the same order as the recursive formulation.
+     */
+    private void dfs(int root) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int frameTop = 0;
+        frames[frameTop++] = root;
+        enter(root);
+
+        while (frameTop > 0) {
+            int at = frames[frameTop - 1];
+
+            if (cursor[at] < offsets[at + 1]) {
+                int to = targets[cursor[at]++];
+                if (ids[to] == -1) {
+                    frames[frameTop++] = to;
+                    enter(to);
+                } else if (onStack[to]) {
+                    low[at] = Math.min(low[at], ids[to]);
+                }
+                continue;
             }
-        }
 
-        if (ids[at] == low[at]) {
-            List<Integer> comp = new ArrayList<>();
-            while (true) {
-                int node = stack.pop();
-                onStack[node] = false;
-                comp.add(node);
-                if (node == at) break;
+            // all edges of 'at' explored: pop frame and propagate low-link to parent
+            frameTop--;
+            if (frameTop > 0) {
+                int parent = frames[frameTop - 1];
+                low[parent] = Math.min(low[parent], low[at]);
+            }
+
+            if (ids[at] == low[at]) {
+                List<Integer> comp = new ArrayList<>();
+                while (true) {
+                    int node = stack[--stackTop];
+                    onStack[node] = false;
+                    comp.add(node);
+                    if (node == at) break;
+                }
+                components.add(comp);
             }
-            components.add(comp);
         }
     }
+
+    private void enter(int v) {
+        cursor[v] = graph.begin(v);
+        stack[stackTop++] = v;
+        onStack[v] = true;
+        ids[v] = low[v] = id++;
+    }
 }
@@ -0,0 +1,147 @@
+package graphs.scc;
+
+import graphs.csr.CsrGraph;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Peels trivial SCCs before an SCC pass: a vertex with no remaining in- or out-edges is
+ * on no cycle, so it is a singleton component, and removing it may expose more such vertices.
+ * Shared by {@link TarjanSCC#trimmed} and {@link ParallelSCC}.
+ *
+ * Peeling is level-synchronous: the vertices of one level release their in- and out-edges,
+ * and the vertices whose in- or out-degree drops to 0 form the next level. With a pool,
+ * levels of at least PARALLEL_THRESHOLD vertices are released in parallel (atomic degree
+ * counters, vertices claimed with CAS); smaller levels, and every level without a pool, run
+ * on the calling thread, which is plain FIFO queue order.
+ */
+final class TrivialSccTrimmer {
+
+    // below this many vertices a level is released on the calling thread
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final int n;
+    private final int[] offsets, targets;
+    private final int[] inOffsets, sources; // reverse CSR
+
+    /**
+     * @param order Peeled vertices in peel order: order[0, count).
+     * @param outEdges Total out-degree of the peeled vertices.
+     */
+    record Result(int[] order, int count, long outEdges) { }
+
+    /**
+     * Builds the reverse CSR of g.
+     */
+    TrivialSccTrimmer(CsrGraph g) {
+        this.n = g.nodes();
+        this.offsets = g.offsets();
+        this.targets = g.targets();
+        this.inOffsets = new int[n + 1];
+        for (int v : targets) {
+            inOffsets[v + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.sources = new int[targets.length];
+        int[] fill = new int[n];
+        System.arraycopy(inOffsets, 0, fill, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                sources[fill[targets[e]]++] = u;
+            }
+        }
+    }
+
+    /** Predecessors of v are sources()[inOffsets()[v] .. inOffsets()[v + 1]). */
+    int[] inOffsets() { return inOffsets; }
+    int[] sources() { return sources; }
+
+    /**
+     * Peels every trivial SCC.
+     * @param pool Pool for large levels, or null to peel on the calling thread only.
+     */
+    Result peel(ForkJoinPool pool) {
+        AtomicIntegerArray in = new AtomicIntegerArray(n);
+        AtomicIntegerArray out = new AtomicIntegerArray(n);
+        AtomicIntegerArray claimed = new AtomicIntegerArray(n);
+        int[] peeled = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            int indeg = inOffsets[v + 1] - inOffsets[v];
+            int outdeg = offsets[v + 1] - offsets[v];
+            in.setPlain(v, indeg);
+            out.setPlain(v, outdeg);
+            if (indeg == 0 || outdeg == 0) {
+                claimed.setPlain(v, 1);
+                peeled[size++] = v;
+            }
+        }
+
+        // the current level is peeled[from, size); the next one is appended after it
+        AtomicInteger tail = new AtomicInteger();
+        int from = 0;
+        while (from < size) {
+            int start = from;
+            int end = size;
+            tail.set(end);
+            if (pool == null || end - start < PARALLEL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    release(peeled[i], in, out, claimed, peeled, tail, false);
+                }
+            } else {
+                pool.submit(() -> IntStream.range(start, end).parallel()
+                        .forEach(i -> release(peeled[i], in, out, claimed, peeled, tail, true))).join();
+            }
+            from = end;
+            size = tail.get();
+        }
+
+        long outEdges = 0;
+        for (int i = 0; i < size; i++) {
+            int v = peeled[i];
+            outEdges += offsets[v + 1] - offsets[v];
+        }
+        return new Result(peeled, size, outEdges);
+    }
+
+    // removes v's edges from its neighbours' degrees and queues those that become trivial
+    private void release(int v, AtomicIntegerArray in, AtomicIntegerArray out, AtomicIntegerArray claimed,
+                         int[] peeled, AtomicInteger tail, boolean concurrent) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int w = targets[e];
+            if (decrement(in, w, concurrent) == 0 && claim(claimed, w, concurrent)) {
+                peeled[tail.getAndIncrement()] = w;
+            }
+        }
+        for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+            int u = sources[e];
+            if (decrement(out, u, concurrent) == 0 && claim(claimed, u, concurrent)) {
+                peeled[tail.getAndIncrement()] = u;
+            }
+        }
+    }
+
+    private static int decrement(AtomicIntegerArray degree, int v, boolean concurrent) {
+        if (concurrent) {
+            return degree.decrementAndGet(v);
+        }
+        int d = degree.getPlain(v) - 1;
+        degree.setPlain(v, d);
+        return d;
+    }
+
+    private static boolean claim(AtomicIntegerArray claimed, int v, boolean concurrent) {
+        if (concurrent) {
+            return claimed.compareAndSet(v, 0, 1);
+        }
+        if (claimed.getPlain(v) != 0) {
+            return false;
+        }
+        claimed.setPlain(v, 1);
+        return true;
+    }
+}
@@ -0,0 +1,247 @@
+package graphs.topo;
+
+import graphs.csr.CsrGraph;
+import java.util.Arrays;
+import metrics.MetricsTracker;
+
+/**
+ * Topological order of a DAG maintained under edge insertions (Pearce–Kelly).
+ *
+ * Seeded from a complete order (e.g. KahnTopologicalSort.sortCsr). Inserting u→v
+ * with pos[u] < pos[v] costs O(1). Otherwise only the window pos[v]..pos[u] is touched:
+ * - forward search from v over vertices with pos <= pos[u] (reaching u means a cycle,
+ *   reported before anything changes),
+ * - backward search from u over vertices with pos >= pos[v],
+ * - the backward set is moved in front of the forward set, reusing exactly the
+ *   positions the two sets occupied, each set keeping its relative order.
+ * Vertices outside the affected region keep their positions.
+ */
+public final class DynamicTopologicalOrder {
+
+    private final int n;
+    private final int[][] out;
+    private final int[][] in;
+    private final int[] outDeg;
+    private final int[] inDeg;
+    private final int[] pos;
+    private final int[] order;
+
+    // search scratch, valid where visited[v] == epoch
+    private final int[] visited;
+    private final int[] stack;
+    private final int[] forward;
+    private final int[] backward;
+    private final int[] slots;
+    private int epoch;
+
+    private DynamicTopologicalOrder(CsrGraph g, int[] topo) {
+        this.n = g.nodes();
+        this.out = new int[n][];
+        this.in = new int[n][];
+        this.outDeg = new int[n];
+        this.inDeg = new int[n];
+        this.pos = new int[n];
+        this.order = topo.clone();
+        this.visited = new int[n];
+        this.stack = new int[n];
+        this.forward = new int[n];
+        this.backward = new int[n];
+        this.slots = new int[n];
+
+        for (int v = 0; v < n; v++) {
+            out[v] = new int[Math.max(g.outDegree(v), 2)];
+            in[v] = new int[2];
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                link(u, g.target(e));
+            }
+        }
+    }
+
+    /**
+     * @param g DAG.
+     * @param topo Topological order of all vertices of g.
+     * @throws IllegalArgumentException if g is null/empty or topo is not a valid order of g.
+     */
+    public static DynamicTopologicalOrder of(CsrGraph g, int[] topo) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
+        }
+        if (topo == null || topo.length != g.nodes()) {
+            throw new IllegalArgumentException("topo must contain every vertex exactly once");
+        }
+        DynamicTopologicalOrder d = new DynamicTopologicalOrder(g, topo);
+        Arrays.fill(d.pos, -1);
+        for (int i = 0; i < topo.length; i++) {
+            int v = topo[i];
+            if (v < 0 || v >= d.n || d.pos[v] != -1) {
+                throw new IllegalArgumentException("topo must contain every vertex exactly once");
+            }
+            d.pos[v] = i;
+        }
+        for (int u = 0; u < d.n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                if (d.pos[u] >= d.pos[g.target(e)]) {
+                    throw new IllegalArgumentException("topo violates edge " + u + " -> " + g.target(e));
+                }
+            }
+        }
+        return d;
+    }
+
+    public int nodes() { return n; }
+
+    /** Position of v in the current order. */
+    public int position(int v) {
+        checkVertex(v);
+        return pos[v];
+    }
+
+    /** Copy of the current order. */
+    public int[] order() {
+        return order.clone();
+    }
+
+    /**
+     * Adds edge u→v and repairs the order if needed.
+     * Metrics: incEdge per edge scanned, incTopo per vertex moved.
+     *
+     * @return True if vertices had to be moved.
+     * @throws IllegalStateException if the edge would create a cycle (the graph is left unchanged).
+     */
+    public boolean insertEdge(int u, int v, MetricsTracker m) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v) {
+            throw new IllegalStateException("Edge " + u + " -> " + v + " would create a cycle");
+        }
+        if (pos[u] < pos[v]) {
+            link(u, v);
+            return false;
+        }
+
+        m.start();
+        int lower = pos[v];
+        int upper = pos[u];
+        int mark = ++epoch;
+
+        // forward: vertices reachable from v inside the window
+        int f = 0;
+        int top = 0;
+        stack[top++] = v;
+        visited[v] = mark;
+        while (top > 0) {
+            int x = stack[--top];
+            forward[f++] = x;
+            for (int i = 0; i < outDeg[x]; i++) {
+                int y = out[x][i];
+                m.incEdge();
+                if (y == u) {
+                    m.stop();
+                    throw new IllegalStateException("Edge " + u + " -> " + v + " would create a cycle");
+                }
+                if (visited[y] != mark && pos[y] < upper) {
+                    visited[y] = mark;
+                    stack[top++] = y;
+                }
+            }
+        }
+
+        // backward: vertices that reach u inside the window (disjoint from forward, else a cycle)
+        int b = 0;
+        stack[top++] = u;
+        visited[u] = mark;
+        while (top > 0) {
+            int x = stack[--top];
+            backward[b++] = x;
+            for (int i = 0; i < inDeg[x]; i++) {
+                int y = in[x][i];
+                m.incEdge();
+                if (visited[y] != mark && pos[y] > lower) {
+                    visited[y] = mark;
+                    stack[top++] = y;
+                }
+            }
+        }
+
+        // reuse the positions of both sets: backward first, then forward, each in old order
+        sortByPosition(backward, b);
+        sortByPosition(forward, f);
+        for (int i = 0; i < b; i++) slots[i] = pos[backward[i]];
+        for (int i = 0; i < f; i++) slots[b + i] = pos[forward[i]];
+        Arrays.sort(slots, 0, b + f);
+        for (int i = 0; i < b; i++) place(backward[i], slots[i], m);
+        for (int i = 0; i < f; i++) place(forward[i], slots[b + i], m);
+
+        link(u, v);
+        m.stop();
+        return true;
+    }
+
+    /**
+     * Removes one copy of edge u→v; the order stays valid without changes.
+     * @throws IllegalArgumentException if the edge is not present.
+     */
+    public void removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (!unlink(out[u], outDeg, u, v)) {
+            throw new IllegalArgumentException("Edge not present: " + u + " -> " + v);
+        }
+        unlink(in[v], inDeg, v, u);
+    }
+
+    private void place(int v, int position, MetricsTracker m) {
+        pos[v] = position;
+        order[position] = v;
+        m.incTopo();
+    }
+
+    // insertion sort for short runs, otherwise sort packed (pos << 32 | vertex) keys
+    private void sortByPosition(int[] vs, int size) {
+        if (size < 16) {
+            for (int i = 1; i < size; i++) {
+                int x = vs[i];
+                int j = i - 1;
+                while (j >= 0 && pos[vs[j]] > pos[x]) {
+                    vs[j + 1] = vs[j];
+                    j--;
+                }
+                vs[j + 1] = x;
+            }
+            return;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) pos[vs[i]] << 32) | vs[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            vs[i] = (int) keys[i];
+        }
+    }
+
+    private void link(int u, int v) {
+        if (outDeg[u] == out[u].length) out[u] = Arrays.copyOf(out[u], outDeg[u] * 2);
+        out[u][outDeg[u]++] = v;
+        if (inDeg[v] == in[v].length) in[v] = Arrays.copyOf(in[v], inDeg[v] * 2);
+        in[v][inDeg[v]++] = u;
+    }
+
+    private static boolean unlink(int[] list, int[] degree, int owner, int value) {
+        for (int i = 0; i < degree[owner]; i++) {
+            if (list[i] == value) {
+                list[i] = list[--degree[owner]];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex out of range: " + v);
+        }
+    }
+}
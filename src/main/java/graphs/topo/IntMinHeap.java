@@ -0,0 +1,65 @@
+package graphs.topo;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive ints (no boxing, no per-element allocation).
+ * Pops values in ascending order, exactly like PriorityQueue&lt;Integer&gt; with natural order.
+ */
+public final class IntMinHeap {
+    private int[] heap;
+    private int size;
+
+    public IntMinHeap(int capacity) {
+        heap = new int[Math.max(capacity, 1)];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        // sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int min = heap[0];
+        int last = heap[--size];
+        int i = 0;
+        // sift down
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return min;
+    }
+}
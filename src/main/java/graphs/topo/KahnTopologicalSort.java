@@ -1,5 +1,6 @@
 package graphs.topo;
 
+import graphs.csr.CsrGraph;
 import java.util.*;
 import metrics.MetricsTracker;
 
@@ -18,7 +19,7 @@ public class KahnTopologicalSort {
 
     /**
      * Computes a topological ordering of the given directed graph.
-     * Uses a priority queue to ensure deterministic output when multiple valid orders exist.
+     * Always takes the smallest ready vertex, so the output is deterministic when multiple valid orders exist.
      *
      * @param adj Adjacency list representation of the directed graph.
      * @param m MetricsTracker to record queue operations, edge explorations, and execution time.
@@ -30,44 +31,199 @@ public class KahnTopologicalSort {
         if (adj == null || adj.isEmpty()) {
             throw new IllegalArgumentException("Graph adjacency list cannot be null or empty");
         }
+        int[] order = sortCsr(CsrGraph.fromAdjacency(adj), m);
+        List<Integer> result = new ArrayList<>(order.length);
+        for (int v : order) {
+            result.add(v);
+        }
+        return result;
+    }
+
+    /**
+     * Ready-set ("frontier") implementations for Kahn's algorithm.
+     * All of them are primitive and allocate nothing per vertex.
+     */
+    public enum Frontier {
+        /** Primitive binary heap: smallest ready vertex first, O(log V) per vertex. */
+        MIN_HEAP,
+        /**
+         * Bitset with a lowest-word hint: smallest ready vertex first. Each poll scans
+         * forward from the hint, which is cheap when ready vertices are dense in id space.
+         */
+        BITSET,
+        /** Plain FIFO queue: any valid topological order, O(1) per vertex. */
+        FIFO
+    }
+
+    /**
+     * Same as {@link #sort(List, MetricsTracker)} but runs directly on a CSR graph
+     * and returns the order as a primitive array. Uses {@link Frontier#MIN_HEAP},
+     * so the order is the lexicographically smallest one.
+     *
+     * @param g CSR graph.
+     * @param m MetricsTracker to record queue operations, edge explorations, and execution time.
+     * @return Vertex indices in topological order.
+     * @throws IllegalArgumentException if g is null or empty.
+     * @throws IllegalStateException if the graph contains a cycle (not a DAG).
+     */
+    public static int[] sortCsr(CsrGraph g, MetricsTracker m) {
+        return sortCsr(g, m, Frontier.MIN_HEAP);
+    }
+
+    /**
+     * Kahn's algorithm on a CSR graph with an explicit frontier.
+     * MIN_HEAP and BITSET return the same (lexicographically smallest) order;
+     * FIFO returns some valid order.
+     *
+     * @param g CSR graph.
+     * @param m MetricsTracker to record queue operations, edge explorations, and execution time.
+     * @param frontier Ready-set implementation.
+     * @return Vertex indices in topological order.
+     * @throws IllegalArgumentException if g is null or empty.
+     * @throws IllegalStateException if the graph contains a cycle (not a DAG).
+     */
+    public static int[] sortCsr(CsrGraph g, MetricsTracker m, Frontier frontier) {
+        int[] order = sortOrNull(g, m, frontier);
+        if (order == null) {
+            throw new IllegalStateException("Graph has a cycle (not a DAG)");
+        }
+        return order;
+    }
+
+    /**
+     * Same as {@link #sortCsr(CsrGraph, MetricsTracker)}, but reports a cycle by returning
+     * null instead of throwing, for callers that use the sort as an acyclicity check.
+     *
+     * @return Vertex indices in topological order, or null if the graph has a cycle.
+     * @throws IllegalArgumentException if g is null or empty.
+     */
+    public static int[] sortIfDag(CsrGraph g, MetricsTracker m) {
+        return sortOrNull(g, m, Frontier.MIN_HEAP);
+    }
+
+    private static int[] sortOrNull(CsrGraph g, MetricsTracker m, Frontier frontier) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
+        }
 
         m.start();
-        int n = adj.size();
+        int n = g.nodes();
         int[] indeg = new int[n];
 
         // Calculate in-degrees
-        for (int u = 0; u < n; u++) {
-            for (int v : adj.get(u)) {
-                indeg[v]++;
-            }
+        for (int v : g.targets()) {
+            indeg[v]++;
         }
 
-        // Use PriorityQueue for deterministic order
-        Queue<Integer> q = new PriorityQueue<>();
+        int[] order = new int[n];
+        int size = switch (frontier) {
+            case MIN_HEAP -> runMinHeap(g, indeg, order);
+            case BITSET -> runBitset(g, indeg, order);
+            case FIFO -> runFifo(g, indeg, order);
+        };
+        // order[0, size) holds the dequeued vertices, each of which scanned all its out-edges
+        m.addTopoOps(size);
+        m.addEdgeOps(size == n ? g.edges() : edgesOf(order, size, g.offsets()));
+        m.stop();
+        return size == n ? order : null;
+    }
+
+    private static int runMinHeap(CsrGraph g, int[] indeg, int[] order) {
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        IntMinHeap q = new IntMinHeap(n);
         for (int i = 0; i < n; i++) {
             if (indeg[i] == 0) {
                 q.add(i);
             }
         }
 
-        List<Integer> order = new ArrayList<>();
+        int size = 0;
         while (!q.isEmpty()) {
-            int u = q.remove();
-            m.incTopo(); // Track queue removal
-            order.add(u);
+            int u = q.poll();
+            order[size++] = u;
 
-            for (int v : adj.get(u)) {
-                m.incEdge(); // Track edge exploration
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
                 if (--indeg[v] == 0) {
                     q.add(v);
                 }
             }
         }
-        m.stop();
+        return size;
+    }
 
-        if (order.size() != n) {
-            throw new IllegalStateException("Graph has a cycle (not a DAG)");
+    private static int runBitset(CsrGraph g, int[] indeg, int[] order) {
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        long[] ready = new long[(n + 63) >>> 6];
+        int readyCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (indeg[i] == 0) {
+                ready[i >>> 6] |= 1L << i;
+                readyCount++;
+            }
         }
-        return order;
+
+        // every word below 'hint' is known to be empty
+        int hint = 0;
+        int size = 0;
+        while (readyCount > 0) {
+            while (ready[hint] == 0) hint++;
+            long word = ready[hint];
+            int u = (hint << 6) + Long.numberOfTrailingZeros(word);
+            ready[hint] = word & (word - 1);
+            readyCount--;
+            order[size++] = u;
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (--indeg[v] == 0) {
+                    ready[v >>> 6] |= 1L << v;
+                    readyCount++;
+                    hint = Math.min(hint, v >>> 6);
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int runFifo(CsrGraph g, int[] indeg, int[] order) {
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        // the output array doubles as the queue: [head, tail) are ready but unprocessed
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (indeg[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+
+        int head = 0;
+        while (head < tail) {
+            int u = order[head++];
+
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (--indeg[v] == 0) {
+                    order[tail++] = v;
+                }
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Total out-degree of the first size vertices of order.
+     */
+    static long edgesOf(int[] order, int size, int[] offsets) {
+        long edges = 0;
+        for (int i = 0; i < size; i++) {
+            edges += offsets[order[i] + 1] - offsets[order[i]];
+        }
+        return edges;
     }
 }
@@ -0,0 +1,134 @@
+package graphs.topo;
+
+import graphs.csr.CsrGraph;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import metrics.MetricsTracker;
+
+/**
+ * Level-synchronous parallel variant of Kahn's algorithm.
+ *
+ * Vertices are processed one zero-in-degree level at a time: level 0 holds the
+ * sources, level k + 1 the vertices whose last predecessor is in level k.
+ * Each level is expanded concurrently (parallel stream on a ForkJoinPool) with
+ * atomic in-degree decrements; the vertex that drops a neighbour to zero appends
+ * it to the next frontier. Large levels are also sorted on that pool, never on the
+ * common pool unless it is the one passed in.
+ *
+ * Each level is sorted before it is emitted, so the order is deterministic:
+ * vertices by level, then by id. This is a valid topological order, but not in
+ * general the same order as {@link KahnTopologicalSort} (which is smallest-first).
+ *
+ * Time complexity: O(V + E) work, O(depth) synchronization rounds.
+ */
+public final class ParallelKahnTopologicalSort {
+
+    // below this many frontier vertices a level is expanded on the calling thread
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private ParallelKahnTopologicalSort() { }
+
+    /**
+     * Topological order plus the level (longest distance in edges from a source) of every vertex.
+     *
+     * @param order Vertices in topological order, grouped by level.
+     * @param level level[v] for every vertex v.
+     * @param levelCount Number of levels (depth of the DAG + 1).
+     */
+    public record Result(int[] order, int[] level, int levelCount) { }
+
+    /**
+     * Sorts on the common ForkJoinPool.
+     * @throws IllegalArgumentException if g is null or empty.
+     * @throws IllegalStateException if the graph contains a cycle (not a DAG).
+     */
+    public static Result sort(CsrGraph g, MetricsTracker m) {
+        return sort(g, m, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts using the given pool for parallel levels.
+     * @throws IllegalArgumentException if g is null or empty.
+     * @throws IllegalStateException if the graph contains a cycle (not a DAG).
+     */
+    public static Result sort(CsrGraph g, MetricsTracker m, ForkJoinPool pool) {
+        if (g == null || g.nodes() == 0) {
+            throw new IllegalArgumentException("Graph cannot be null or empty");
+        }
+
+        m.start();
+        int n = g.nodes();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+
+        int[] counts = new int[n];
+        for (int v : targets) {
+            counts[v]++;
+        }
+        AtomicIntegerArray indeg = new AtomicIntegerArray(counts);
+
+        int[] order = new int[n];
+        int[] level = new int[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (counts[i] == 0) {
+                order[size++] = i;
+            }
+        }
+
+        // the current frontier is order[from, size); the next one is appended after it
+        int from = 0;
+        int levels = 0;
+        AtomicInteger tail = new AtomicInteger();
+        while (from < size) {
+            int start = from;
+            int end = size;
+            int lvl = levels++;
+            tail.set(end);
+
+            if (end - start < PARALLEL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    expand(order[i], lvl, offsets, targets, indeg, level, order, tail);
+                }
+            } else {
+                pool.submit(() -> IntStream.range(start, end).parallel()
+                        .forEach(i -> expand(order[i], lvl, offsets, targets, indeg, level, order, tail)))
+                        .join();
+            }
+
+            from = end;
+            size = tail.get();
+            if (size - from > PARALLEL_THRESHOLD) {
+                // forked from a worker of pool, so the sort's subtasks stay on pool too
+                int sortFrom = from;
+                int sortTo = size;
+                pool.submit(() -> Arrays.parallelSort(order, sortFrom, sortTo)).join();
+            } else {
+                Arrays.sort(order, from, size);
+            }
+        }
+
+        m.addTopoOps(size);
+        m.addEdgeOps(size == n ? targets.length : KahnTopologicalSort.edgesOf(order, size, offsets));
+        m.stop();
+
+        if (size != n) {
+            throw new IllegalStateException("Graph has a cycle (not a DAG)");
+        }
+        return new Result(order, level, levels);
+    }
+
+    private static void expand(int u, int lvl, int[] offsets, int[] targets,
+                               AtomicIntegerArray indeg, int[] level, int[] order, AtomicInteger tail) {
+        level[u] = lvl;
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            int v = targets[e];
+            if (indeg.decrementAndGet(v) == 0) {
+                order[tail.getAndIncrement()] = v;
+            }
+        }
+    }
+}
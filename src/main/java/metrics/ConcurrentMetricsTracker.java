@@ -0,0 +1,91 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe tracker; see MetricsTracker.concurrent().
+ *
+ * Counters, elapsed time and phase times are LongAdders, so threads updating them
+ * concurrently mostly touch different cells. start()/stop() and startPhase()/stopPhase()
+ * keep their start time per thread; elapsed and phase times are the sums of the intervals
+ * timed on all threads. JFR phase events are kept per thread as well.
+ */
+final class ConcurrentMetricsTracker extends MetricsTracker {
+    private static final int PHASES = Phase.values().length;
+
+    private final LongAdder elapsedNs = new LongAdder();
+    private final LongAdder dfsOps = new LongAdder();
+    private final LongAdder edgeOps = new LongAdder();
+    private final LongAdder topoOps = new LongAdder();
+    private final LongAdder relaxOps = new LongAdder();
+    private final LongAdder queryOps = new LongAdder();
+    private final LongAdder[] phaseNs = new LongAdder[PHASES];
+    // per thread: [0] start of the elapsed timer, [1 + phase] start of that phase
+    private final ThreadLocal<long[]> starts = ThreadLocal.withInitial(() -> new long[1 + PHASES]);
+    private final ThreadLocal<PhaseEvent[]> events = ThreadLocal.withInitial(() -> new PhaseEvent[PHASES]);
+
+    ConcurrentMetricsTracker() {
+        for (int i = 0; i < PHASES; i++) {
+            phaseNs[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void start() {
+        starts.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void stop() {
+        elapsedNs.add(System.nanoTime() - starts.get()[0]);
+    }
+
+    @Override
+    public void reset() {
+        elapsedNs.reset();
+        dfsOps.reset();
+        edgeOps.reset();
+        topoOps.reset();
+        relaxOps.reset();
+        queryOps.reset();
+        for (LongAdder a : phaseNs) {
+            a.reset();
+        }
+    }
+
+    @Override
+    public void startPhase(Phase phase) {
+        events.get()[phase.ordinal()] = PhaseEvent.started();
+        starts.get()[1 + phase.ordinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void stopPhase(Phase phase) {
+        phaseNs[phase.ordinal()].add(System.nanoTime() - starts.get()[1 + phase.ordinal()]);
+        PhaseEvent[] open = events.get();
+        open[phase.ordinal()].finish(phase, this);
+        open[phase.ordinal()] = null;
+    }
+
+    @Override public void addPhaseNanos(Phase phase, long nanos) { phaseNs[phase.ordinal()].add(nanos); }
+    @Override public long getPhaseNanos(Phase phase) { return phaseNs[phase.ordinal()].sum(); }
+    @Override public long getElapsedNanos() { return elapsedNs.sum(); }
+
+    @Override public void incDfs()   { dfsOps.increment(); }
+    @Override public void incEdge()  { edgeOps.increment(); }
+    @Override public void incTopo()  { topoOps.increment(); }
+    @Override public void incRelax() { relaxOps.increment(); }
+    @Override public void incQuery() { queryOps.increment(); }
+
+    @Override public void addDfsOps(long count) { dfsOps.add(count); }
+    @Override public void addEdgeOps(long count) { edgeOps.add(count); }
+    @Override public void addTopoOps(long count) { topoOps.add(count); }
+    @Override public void addRelaxOps(long count) { relaxOps.add(count); }
+    @Override public void addQueryOps(long count) { queryOps.add(count); }
+
+    @Override public long getDfsOps()   { return dfsOps.sum(); }
+    @Override public long getEdgeOps()  { return edgeOps.sum(); }
+    @Override public long getTopoOps()  { return topoOps.sum(); }
+    @Override public long getRelaxOps() { return relaxOps.sum(); }
+    @Override public long getQueryOps() { return queryOps.sum(); }
+}
@@ -0,0 +1,111 @@
+package metrics;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram, for non-negative long values
+ * (nanoseconds in this project).
+ *
+ * Values below 32 are counted exactly. Above that every power of two [2^k, 2^(k+1)) is split
+ * into 32 equal sub-buckets, so a reported percentile is at most ~3% above the true value.
+ * The bucket array is fixed (1888 counts) no matter how many values are recorded.
+ *
+ * Not thread-safe; PhaseSummary synchronizes access.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // exponents SUB_BITS..62 each get SUB_COUNT buckets, after the SUB_COUNT exact ones
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records one value.
+     * @throws IllegalArgumentException if value is negative.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must be non-negative");
+        }
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds all values recorded in another histogram.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() { return total; }
+    public long max()   { return max; }
+    public long min()   { return total == 0 ? 0 : min; }
+
+    /**
+     * @return Exact mean of the recorded values (0 if empty).
+     */
+    public double mean() {
+        return total == 0 ? 0.0 : (double) sum / total;
+    }
+
+    /**
+     * Smallest value v (up to bucket precision) such that at least p percent of the
+     * recorded values are <= v. Never exceeds max().
+     *
+     * @param p Percentile in [0, 100].
+     * @return The value, or 0 if nothing was recorded.
+     * @throws IllegalArgumentException if p is out of range.
+     */
+    public long valueAtPercentile(double p) {
+        if (!(p >= 0 && p <= 100)) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highestEquivalent(i)));
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Largest value that falls into bucket i.
+     */
+    static long highestEquivalent(int i) {
+        if (i < SUB_COUNT) {
+            return i;
+        }
+        int exp = i / SUB_COUNT + SUB_BITS - 1;
+        long sub = i % SUB_COUNT;
+        long lowest = (SUB_COUNT + sub) << (exp - SUB_BITS);
+        return lowest + (1L << (exp - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,127 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends per-graph metrics rows to a CSV file through one writer kept open for the run.
+ *
+ * Rows are formatted into a reused StringBuilder (no String.format) and flushed every
+ * batchSize rows and on close. append() is synchronized, so parallel pipelines can share
+ * one sink. The header is written with the first row, so a run without graphs leaves no file.
+ *
+ * Columns: inputFile,graphId,elapsedMs,dfsOps,edgeOps,topoOps,relaxOps, then one
+ * "<phase>Ms" column per Phase (parseMs ... writeMs). Times have 3 decimals, rounded
+ * half-up like "%.3f".
+ */
+public final class MetricsCsvSink implements Closeable {
+    public static final String HEADER = header();
+
+    private final Path file;
+    private final int batchSize;
+    private final StringBuilder row = new StringBuilder(128);
+    private Writer writer; // opened on first append
+    private int pending;
+
+    /**
+     * @param file CSV file; rows are appended if it already exists (no second header).
+     * @param batchSize Rows buffered between flushes.
+     * @throws IllegalArgumentException if batchSize is not positive.
+     */
+    public MetricsCsvSink(Path file, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.file = file;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Appends one row.
+     * @throws UncheckedIOException if writing fails.
+     */
+    public synchronized void append(String inputFile, String graphId, MetricsTracker m) {
+        try {
+            if (writer == null) {
+                boolean exists = Files.exists(file);
+                writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), 1 << 16);
+                if (!exists) {
+                    writer.write(HEADER);
+                    writer.write('\n');
+                }
+            }
+            row.setLength(0);
+            row.append(inputFile).append(',').append(graphId).append(',');
+            appendFixed3(row, m.getElapsedMs());
+            row.append(',').append(m.getDfsOps())
+                    .append(',').append(m.getEdgeOps())
+                    .append(',').append(m.getTopoOps())
+                    .append(',').append(m.getRelaxOps());
+            for (Phase p : Phase.values()) {
+                row.append(',');
+                appendFixed3(row, m.getPhaseMs(p));
+            }
+            row.append(System.lineSeparator());
+            writer.append(row);
+            if (++pending >= batchSize) {
+                writer.flush();
+                pending = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write metrics to " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private static String header() {
+        StringBuilder sb = new StringBuilder("inputFile,graphId,elapsedMs,dfsOps,edgeOps,topoOps,relaxOps");
+        for (Phase p : Phase.values()) {
+            sb.append(',').append(p.label()).append("Ms");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends x with exactly 3 decimals, same text as String.format(Locale.US, "%.3f", x).
+     * Values whose scaled product is too close to a .5 tie to decide reliably fall back to
+     * half-up rounding of the exact shortest decimal (what Formatter does).
+     */
+    public static void appendFixed3(StringBuilder sb, double x) {
+        if (!Double.isFinite(x)) {
+            sb.append(x);
+            return;
+        }
+        double scaled = Math.abs(x) * 1000.0;
+        if (scaled >= 1e15 || Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-6) {
+            sb.append(BigDecimal.valueOf(x).setScale(3, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long r = Math.round(scaled);
+        if (Double.doubleToRawLongBits(x) < 0) {
+            sb.append('-');
+        }
+        sb.append(r / 1000).append('.');
+        int frac = (int) (r % 1000);
+        if (frac < 100) sb.append('0');
+        if (frac < 10) sb.append('0');
+        sb.append(frac);
+    }
+}
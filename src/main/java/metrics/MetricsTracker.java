@@ -1,22 +1,67 @@
 package metrics;
 
+import java.util.Arrays;
+
 /**
  * Lightweight metrics collector for Assignment 4: SCC, Topological Sort, DAG Shortest Paths.
  * Tracks wall-clock time (in nanoseconds, converted to milliseconds) and operation counters.
  *
+ * Timing:
+ * - start()/stop() pairs add up into elapsedMs, so several algorithms timed with the
+ *   same tracker report their total, not just the last one
+ * - startPhase()/stopPhase() (or addPhaseNanos) time named pipeline phases separately;
+ *   phase times accumulate too and are independent of elapsedMs
+ * - each startPhase()/stopPhase() interval is also a JFR "graphs.Phase" event carrying the
+ *   graph set with describe() and the counters (see PhaseEvent)
+ *
  * Counters semantics:
  * - dfsOps: number of vertex visits during DFS (Tarjan's SCC)
  * - edgeOps: number of edges explored across all algorithms
  * - topoOps: number of queue removals in Kahn's topological sort
  * - relaxOps: number of successful distance updates in DAG shortest/longest paths
+ * - queryOps: number of answered path queries (PathQueryService)
+ *
+ * Implementations (same API, pick per call site):
+ * - new MetricsTracker(): plain fields, one thread at a time
+ * - MetricsTracker.noop(): ignores everything and reports zeros; its empty methods inline
+ *   away, so instrumented code costs nothing when metrics are not wanted
+ * - MetricsTracker.concurrent(): LongAdder-striped, safe to share between threads
+ * Hot loops (Tarjan, Kahn, DAG shortest/longest) count in locals and report once per call
+ * through the add*Ops methods, so the per-edge cost does not depend on the implementation.
  */
-public final class MetricsTracker {
+public class MetricsTracker {
+    private static final Phase[] PHASES = Phase.values();
+
     private long startNs;
     private long elapsedNs;
     private long dfsOps;
     private long edgeOps;
     private long topoOps;
     private long relaxOps;
+    private long queryOps;
+    private final long[] phaseNs = new long[PHASES.length];
+    private final long[] phaseStartNs = new long[PHASES.length];
+    private final PhaseEvent[] phaseEvents = new PhaseEvent[PHASES.length];
+    // graph being measured, for JFR events
+    String graphId;
+    int vertices;
+    int edges;
+
+    private static final MetricsTracker NOOP = new NoOpMetricsTracker();
+
+    /**
+     * @return Shared tracker that records nothing (all getters return 0).
+     */
+    public static MetricsTracker noop() {
+        return NOOP;
+    }
+
+    /**
+     * @return New tracker whose counters and timers can be updated from several threads.
+     */
+    public static MetricsTracker concurrent() {
+        return new ConcurrentMetricsTracker();
+    }
 
     /**
      * Starts the timer for this metric collection session.
@@ -26,25 +71,74 @@ public final class MetricsTracker {
     }
 
     /**
-     * Stops the timer and records elapsed time.
+     * Stops the timer and adds the time since start() to the elapsed time.
      */
     public void stop() {
-        elapsedNs = System.nanoTime() - startNs;
+        elapsedNs += System.nanoTime() - startNs;
     }
 
     /**
-     * Resets all counters and elapsed time to zero.
+     * Resets all counters, elapsed time and phase times to zero.
      * Useful for reusing the same tracker instance across multiple experiments.
      */
     public void reset() {
-        elapsedNs = dfsOps = edgeOps = topoOps = relaxOps = 0L;
+        elapsedNs = dfsOps = edgeOps = topoOps = relaxOps = queryOps = 0L;
+        Arrays.fill(phaseNs, 0L);
+    }
+
+    /**
+     * Names the graph this tracker measures; phase events recorded afterwards carry it.
+     */
+    public void describe(String graphId, int vertices, int edges) {
+        this.graphId = graphId;
+        this.vertices = vertices;
+        this.edges = edges;
+    }
+
+    /**
+     * Starts timing a phase (one open interval per phase at a time).
+     */
+    public void startPhase(Phase phase) {
+        phaseEvents[phase.ordinal()] = PhaseEvent.started();
+        phaseStartNs[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Adds the time since startPhase(phase) to that phase.
+     */
+    public void stopPhase(Phase phase) {
+        phaseNs[phase.ordinal()] += System.nanoTime() - phaseStartNs[phase.ordinal()];
+        phaseEvents[phase.ordinal()].finish(phase, this);
+        phaseEvents[phase.ordinal()] = null;
+    }
+
+    /**
+     * Adds time measured elsewhere (e.g. by a reader) to a phase.
+     */
+    public void addPhaseNanos(Phase phase, long nanos) {
+        phaseNs[phase.ordinal()] += nanos;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNs[phase.ordinal()];
+    }
+
+    /**
+     * @return Time spent in a phase in milliseconds.
+     */
+    public double getPhaseMs(Phase phase) {
+        return getPhaseNanos(phase) / 1_000_000.0;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNs;
     }
 
     /**
      * @return Elapsed time in milliseconds (with sub-millisecond precision).
      */
     public double getElapsedMs() {
-        return elapsedNs / 1_000_000.0;
+        return getElapsedNanos() / 1_000_000.0;
     }
 
     // Operation counters
@@ -52,10 +146,39 @@ public final class MetricsTracker {
     public void incEdge()  { edgeOps++; }
     public void incTopo()  { topoOps++; }
     public void incRelax() { relaxOps++; }
+    public void incQuery() { queryOps++; }
+
+    // Bulk updates, for algorithms that count locally and report once
+    public void addDfsOps(long count) { dfsOps += count; }
+    public void addEdgeOps(long count) { edgeOps += count; }
+    public void addTopoOps(long count) { topoOps += count; }
+    public void addRelaxOps(long count) { relaxOps += count; }
+    public void addQueryOps(long count) { queryOps += count; }
+
+    /**
+     * Adds the operation counters of another tracker (elapsed and phase times are not touched).
+     * Used to fold per-thread trackers into one after a parallel run.
+     */
+    public void merge(MetricsTracker other) {
+        addDfsOps(other.getDfsOps());
+        addEdgeOps(other.getEdgeOps());
+        addTopoOps(other.getTopoOps());
+        addRelaxOps(other.getRelaxOps());
+        addQueryOps(other.getQueryOps());
+    }
 
     // Getters
     public long getDfsOps()   { return dfsOps; }
     public long getEdgeOps()  { return edgeOps; }
     public long getTopoOps()  { return topoOps; }
     public long getRelaxOps() { return relaxOps; }
+    public long getQueryOps() { return queryOps; }
+
+    /**
+     * @return Answered queries per second of elapsed time (0 if nothing was timed).
+     */
+    public double getQueriesPerSecond() {
+        long elapsed = getElapsedNanos();
+        return elapsed == 0 ? 0.0 : getQueryOps() * 1_000_000_000.0 / elapsed;
+    }
 }
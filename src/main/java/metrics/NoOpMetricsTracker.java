@@ -0,0 +1,29 @@
+package metrics;
+
+/**
+ * Tracker that records nothing; see MetricsTracker.noop().
+ * Every method is empty and the class is final, so the JIT drops the calls once it inlines them.
+ */
+final class NoOpMetricsTracker extends MetricsTracker {
+
+    @Override public void start() { }
+    @Override public void stop() { }
+    @Override public void reset() { }
+    @Override public void describe(String graphId, int vertices, int edges) { }
+    @Override public void startPhase(Phase phase) { }
+    @Override public void stopPhase(Phase phase) { }
+    @Override public void addPhaseNanos(Phase phase, long nanos) { }
+
+    @Override public void incDfs()   { }
+    @Override public void incEdge()  { }
+    @Override public void incTopo()  { }
+    @Override public void incRelax() { }
+    @Override public void incQuery() { }
+
+    @Override public void addDfsOps(long count) { }
+    @Override public void addEdgeOps(long count) { }
+    @Override public void addTopoOps(long count) { }
+    @Override public void addRelaxOps(long count) { }
+    @Override public void addQueryOps(long count) { }
+    @Override public void merge(MetricsTracker other) { }
+}
@@ -0,0 +1,25 @@
+package metrics;
+
+/**
+ * Named phases of the per-graph pipeline, timed separately by MetricsTracker.
+ * The label is the column/field prefix used in metrics.csv and the output JSON.
+ */
+public enum Phase {
+    PARSE("parse"),
+    SCC("scc"),
+    CONDENSATION("condensation"),
+    TOPO("topo"),
+    SHORTEST("shortest"),
+    LONGEST("longest"),
+    WRITE("write");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,71 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one timed pipeline phase of one graph.
+ *
+ * MetricsTracker begins an event in startPhase() and commits it in stopPhase(), so the
+ * event's duration is the phase itself. The counters are the tracker's totals when the
+ * phase ended. Nothing is recorded unless a recording enables "graphs.Phase", e.g.
+ * java -XX:StartFlightRecording=filename=run.jfr ... graphs.Main
+ */
+@Name("graphs.Phase")
+@Label("Pipeline Phase")
+@Category({"Graphs", "Pipeline"})
+@StackTrace(false)
+@Description("One phase (parse, scc, condensation, topo, shortest, longest, write) of one graph")
+final class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Graph Id")
+    String graphId;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Edges")
+    int edges;
+
+    @Label("DFS Ops")
+    long dfsOps;
+
+    @Label("Edge Ops")
+    long edgeOps;
+
+    @Label("Topo Ops")
+    long topoOps;
+
+    @Label("Relax Ops")
+    long relaxOps;
+
+    static PhaseEvent started() {
+        PhaseEvent e = new PhaseEvent();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Ends the event and commits it with the tracker's graph and counters (if recorded).
+     */
+    void finish(Phase p, MetricsTracker m) {
+        end();
+        if (shouldCommit()) {
+            phase = p.label();
+            graphId = m.graphId;
+            vertices = m.vertices;
+            edges = m.edges;
+            dfsOps = m.getDfsOps();
+            edgeOps = m.getEdgeOps();
+            topoOps = m.getTopoOps();
+            relaxOps = m.getRelaxOps();
+            commit();
+        }
+    }
+}
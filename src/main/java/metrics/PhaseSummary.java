@@ -0,0 +1,72 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-phase latency histograms across all graphs of a run.
+ *
+ * record() takes each graph's finished MetricsTracker and is synchronized, so parallel
+ * pipelines can share one summary. writeCsv() writes one row per phase:
+ * phase,count,meanMs,p50Ms,p90Ms,p99Ms,maxMs (milliseconds with 3 decimals).
+ */
+public final class PhaseSummary {
+    public static final String HEADER = "phase,count,meanMs,p50Ms,p90Ms,p99Ms,maxMs";
+
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    public PhaseSummary() {
+        for (Phase p : Phase.values()) {
+            histograms.put(p, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Adds one graph's phase times (every phase, including ones that took 0 ns).
+     */
+    public synchronized void record(MetricsTracker m) {
+        for (Phase p : Phase.values()) {
+            histograms.get(p).record(m.getPhaseNanos(p));
+        }
+    }
+
+    /**
+     * @return A copy of the histogram of one phase.
+     */
+    public synchronized LatencyHistogram histogram(Phase phase) {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(histograms.get(phase));
+        return copy;
+    }
+
+    /**
+     * Writes the percentile table, replacing the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void writeCsv(Path file) throws IOException {
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Phase p : Phase.values()) {
+            LatencyHistogram h = histograms.get(p);
+            sb.append(p.label()).append(',').append(h.count());
+            appendMs(sb, h.mean());
+            appendMs(sb, h.valueAtPercentile(50));
+            appendMs(sb, h.valueAtPercentile(90));
+            appendMs(sb, h.valueAtPercentile(99));
+            appendMs(sb, h.max());
+            sb.append('\n');
+        }
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.append(sb);
+        }
+    }
+
+    private static void appendMs(StringBuilder sb, double nanos) {
+        sb.append(',');
+        MetricsCsvSink.appendFixed3(sb, nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,98 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Running totals of every finished graph, exported as a platform MXBean so a long-lived
+ * run can be watched while it works.
+ *
+ * record() is thread-safe (totals are kept in a concurrent MetricsTracker).
+ * register() publishes the bean; close() removes it again.
+ */
+public final class PipelineStats implements PipelineStatsMXBean, AutoCloseable {
+    public static final String OBJECT_NAME = "graphs:type=PipelineStats";
+
+    private final MetricsTracker totals = MetricsTracker.concurrent();
+    private final LongAdder graphs = new LongAdder();
+    private ObjectName registeredAs;
+
+    /**
+     * Creates a bean and registers it with the platform MBean server under OBJECT_NAME.
+     * @throws IllegalStateException if the name is taken or registration fails.
+     */
+    public static PipelineStats register() {
+        PipelineStats stats = new PipelineStats();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, name);
+            stats.registeredAs = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+        return stats;
+    }
+
+    /**
+     * Adds one graph's counters and phase times, as soon as its pipeline has finished.
+     */
+    public void record(MetricsTracker m) {
+        totals.merge(m);
+        for (Phase p : Phase.values()) {
+            totals.addPhaseNanos(p, m.getPhaseNanos(p));
+        }
+        graphs.increment();
+    }
+
+    /**
+     * Adds time a graph spent in a phase after it was recorded (e.g. writing its result).
+     */
+    public void addPhaseNanos(Phase phase, long nanos) {
+        totals.addPhaseNanos(phase, nanos);
+    }
+
+    @Override public long getGraphsProcessed() { return graphs.sum(); }
+    @Override public long getDfsOps()   { return totals.getDfsOps(); }
+    @Override public long getEdgeOps()  { return totals.getEdgeOps(); }
+    @Override public long getTopoOps()  { return totals.getTopoOps(); }
+    @Override public long getRelaxOps() { return totals.getRelaxOps(); }
+    @Override public long getQueryOps() { return totals.getQueryOps(); }
+
+    @Override
+    public Map<String, Double> getPhaseTotalMs() {
+        Map<String, Double> ms = new LinkedHashMap<>();
+        for (Phase p : Phase.values()) {
+            ms.put(p.label(), totals.getPhaseMs(p));
+        }
+        return ms;
+    }
+
+    @Override
+    public void reset() {
+        totals.reset();
+        graphs.reset();
+    }
+
+    /**
+     * Unregisters the bean (no-op if it was never registered).
+     */
+    @Override
+    public void close() {
+        if (registeredAs == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(registeredAs);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+        } finally {
+            registeredAs = null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Live pipeline totals over JMX (see PipelineStats), readable with jconsole/VisualVM
+ * under "graphs:type=PipelineStats".
+ */
+public interface PipelineStatsMXBean {
+    long getGraphsProcessed();
+    long getDfsOps();
+    long getEdgeOps();
+    long getTopoOps();
+    long getRelaxOps();
+    long getQueryOps();
+
+    /**
+     * @return Total milliseconds per phase label (parse, scc, ..., write).
+     */
+    Map<String, Double> getPhaseTotalMs();
+
+    /**
+     * Zeroes all totals.
+     */
+    void reset();
+}
@@ -0,0 +1,114 @@
+import JSONReader.BinaryGraphFile;
+import JSONReader.JsonGraphReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary graph format.
+ * Tests cover: JSON to binary round trip, optional metadata, bad and damaged files,
+ * no partial file after a failed conversion.
+ */
+public class BinaryGraphFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTripMatchesJson() throws IOException {
+        for (String name : List.of("small.json", "medium.json", "large.json")) {
+            Path json = Path.of("data", name);
+            Path bin = dir.resolve(name.replace(".json", ".bin"));
+            List<JsonGraphReader.SingleGraph> expected = JsonGraphReader.readMany(json);
+
+            assertEquals(expected.size(), BinaryGraphFile.convert(json, bin));
+            List<JsonGraphReader.SingleGraph> actual = BinaryGraphFile.readMany(bin);
+
+            assertEquals(expected.size(), actual.size(), "Same number of graphs in " + name);
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameGraph(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testOptionalFieldsAndEmptyEdges() throws IOException {
+        Path json = dir.resolve("g.json");
+        Files.writeString(json, """
+                { "graphs": [
+                  { "id": "gråf", "nodes": 3, "edges": [] },
+                  { "nodes": 2, "isDAG": false, "source": 1, "density": "dense",
+                    "edges": [ {"from": 1, "to": 0, "w": -0.5} ] }
+                ] }
+                """);
+        Path bin = dir.resolve("g.bin");
+        BinaryGraphFile.convert(json, bin);
+        List<JsonGraphReader.SingleGraph> expected = JsonGraphReader.readMany(json);
+        List<JsonGraphReader.SingleGraph> actual = BinaryGraphFile.readMany(bin);
+
+        assertEquals(2, actual.size());
+        assertSameGraph(expected.get(0), actual.get(0));
+        assertSameGraph(expected.get(1), actual.get(1));
+        assertNull(actual.get(0).isDag());
+        assertNull(actual.get(0).source());
+        assertEquals(Boolean.FALSE, actual.get(1).isDag());
+    }
+
+    @Test
+    void testFailedConvertLeavesNoFile() throws IOException {
+        Path json = dir.resolve("bad.json");
+        Files.writeString(json, """
+                { "graphs": [
+                  { "id": "ok", "nodes": 2, "edges": [ {"from": 0, "to": 1} ] },
+                  { "id": "bad", "nodes": 3, "edges": [ {"from": 0, "to": 7} ] }
+                ] }
+                """);
+        Path bin = dir.resolve("bad.bin");
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFile.convert(json, bin));
+        assertFalse(Files.exists(bin), "No partial file is left behind");
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(json), files.toList(), "Temp file is removed");
+        }
+    }
+
+    @Test
+    void testRejectsDamagedFile() throws IOException {
+        Path bin = dir.resolve("small.bin");
+        BinaryGraphFile.convert(Path.of("data", "small.json"), bin);
+        byte[] bytes = Files.readAllBytes(bin);
+
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFile.readMany(truncated));
+
+        // first graph: headers (16 + 28 bytes), id "small-1", density "sparse", padding, then offsets[0]
+        int firstOffset = (16 + 28 + "small-1".length() + "sparse".length() + 7) & ~7;
+        byte[] corrupt = bytes.clone();
+        corrupt[firstOffset] = 5;
+        Path damaged = dir.resolve("damaged.bin");
+        Files.write(damaged, corrupt);
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphFile.readMany(damaged));
+    }
+
+    @Test
+    void testRejectsNonBinaryFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryGraphFile.readMany(Path.of("data", "small.json")));
+    }
+
+    private static void assertSameGraph(JsonGraphReader.SingleGraph expected, JsonGraphReader.SingleGraph actual) {
+        assertEquals(expected.id(), actual.id());
+        assertEquals(expected.nodes(), actual.nodes());
+        assertEquals(expected.edgesCount(), actual.edgesCount());
+        assertEquals(expected.density(), actual.density());
+        assertEquals(expected.isDag(), actual.isDag());
+        assertEquals(expected.source(), actual.source());
+        assertArrayEquals(expected.graph().offsets(), actual.graph().offsets());
+        assertArrayEquals(expected.graph().targets(), actual.graph().targets());
+        assertArrayEquals(expected.graph().weights(), actual.graph().weights(), 0.0);
+    }
+}
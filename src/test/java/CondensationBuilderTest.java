@@ -0,0 +1,58 @@
+import graphs.csr.CsrGraph;
+import graphs.scc.CondensationBuilder;
+import graphs.scc.CondensationBuilder.ParallelEdgePolicy;
+import graphs.scc.TarjanSCC;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-pass condensation builder.
+ * Tests cover: dedup, sorted vs first-seen order, parallel-edge weight policies.
+ */
+public class CondensationBuilderTest {
+
+    // Graph: {0,1} cycle, {2} and {3} singletons
+    // Edges: 1→3(5), 0→2(4), 1→2(1), 0→3(2), 1→3(9), 2→3(7)
+    private static CsrGraph graph() {
+        return new CsrGraph.Builder()
+                .addEdge(0, 1, 1).addEdge(1, 0, 1)
+                .addEdge(1, 3, 5).addEdge(0, 2, 4).addEdge(1, 2, 1)
+                .addEdge(0, 3, 2).addEdge(1, 3, 9).addEdge(2, 3, 7)
+                .build(4);
+    }
+
+    @Test
+    void testDagIsSortedAndDeduplicated() {
+        TarjanSCC tarjan = TarjanSCC.of(graph());
+        tarjan.run(new MetricsTracker());
+        var c = tarjan.condensation(ParallelEdgePolicy.FIRST);
+
+        assertEquals(List.of(List.of(1, 2), List.of(2), List.of()), c.dag().adjacencyView());
+        assertEquals(c.dag().adjacencyView(), tarjan.buildCondensation());
+        // weighted view keeps first-seen order: vertex 0 first (0→2, 0→3), then vertex 1
+        assertEquals(List.of(List.of(1, 2), List.of(2), List.of()), c.weighted().adjacencyView());
+    }
+
+    @Test
+    void testParallelEdgePolicies() {
+        int[] compId = {0, 0, 1, 2};
+        CsrGraph g = graph();
+
+        CsrGraph first = CondensationBuilder.build(g, compId, 3, ParallelEdgePolicy.FIRST).weighted();
+        CsrGraph min = CondensationBuilder.build(g, compId, 3, ParallelEdgePolicy.MIN).weighted();
+        CsrGraph max = CondensationBuilder.build(g, compId, 3, ParallelEdgePolicy.MAX).weighted();
+
+        // component 0 → 1 via 0→2(4), 1→2(1); component 0 → 2 via 0→3(2), 1→3(5), 1→3(9)
+        assertArrayEquals(new double[]{4, 2, 7}, first.weights(), 1e-9);
+        assertArrayEquals(new double[]{1, 2, 7}, min.weights(), 1e-9);
+        assertArrayEquals(new double[]{4, 9, 7}, max.weights(), 1e-9);
+    }
+
+    @Test
+    void testMismatchedComponentIdsThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CondensationBuilder.build(graph(), new int[]{0, 0}, 1, ParallelEdgePolicy.FIRST));
+    }
+}
@@ -0,0 +1,91 @@
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSR graph representation and the CSR entry points of the algorithms.
+ * Tests cover: builder ordering, list adapters, validation, parity with list-based APIs.
+ */
+public class CsrGraphTest {
+
+    @Test
+    void testBuilderKeepsInsertionOrderPerVertex() {
+        // Edges added out of source order: 2→0, 0→2, 0→1, 1→2
+        CsrGraph g = new CsrGraph.Builder()
+                .addEdge(2, 0, 5)
+                .addEdge(0, 2, 3)
+                .addEdge(0, 1, 1)
+                .addEdge(1, 2, 2)
+                .build(3);
+
+        assertEquals(3, g.nodes());
+        assertEquals(4, g.edges());
+        assertEquals(List.of(List.of(2, 1), List.of(2), List.of(0)), g.adjacencyView(),
+                "Edges grouped by source, insertion order preserved");
+        assertEquals(3.0, g.weight(g.begin(0)), 1e-9);
+        assertEquals(5.0, g.weight(g.begin(2)), 1e-9);
+    }
+
+    @Test
+    void testFromAdjacencyRoundTrip() {
+        List<List<Integer>> adj = List.of(List.of(1, 2), List.of(3), List.of(3), List.of());
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+
+        assertFalse(g.isWeighted(), "Adjacency list input is unweighted");
+        assertEquals(1.0, g.weight(0), 1e-9, "Unweighted edges default to 1.0");
+        assertEquals(adj, g.adjacencyView());
+        assertEquals(2, g.outDegree(0));
+    }
+
+    @Test
+    void testOutOfRangeEndpointThrows() {
+        CsrGraph.Builder b = new CsrGraph.Builder().addEdge(0, 3, 1);
+        assertThrows(IllegalArgumentException.class, () -> b.build(3));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.fromAdjacency(List.of(List.of(2), List.of())));
+    }
+
+    @Test
+    void testAlgorithmsMatchListApis() {
+        // Graph: 0→1→2→0 (cycle), 2→3(4), 1→3(1), 3→4(2)
+        List<List<DagShortestPaths.Edge>> wadj = List.of(
+                List.of(new DagShortestPaths.Edge(1, 1)),
+                List.of(new DagShortestPaths.Edge(2, 1), new DagShortestPaths.Edge(3, 1)),
+                List.of(new DagShortestPaths.Edge(0, 1), new DagShortestPaths.Edge(3, 4)),
+                List.of(new DagShortestPaths.Edge(4, 2)),
+                List.of()
+        );
+        CsrGraph g = DagShortestPaths.fromWeightedAdjacency(wadj);
+
+        TarjanSCC fromList = new TarjanSCC(g.adjacencyView());
+        TarjanSCC fromCsr = TarjanSCC.of(g);
+        assertEquals(fromList.run(new MetricsTracker()), fromCsr.run(new MetricsTracker()));
+        assertArrayEquals(fromList.getComponentIds(), fromCsr.getComponentIds());
+
+        CsrGraph cond = fromCsr.buildCondensationCsr();
+        int[] topo = KahnTopologicalSort.sortCsr(cond, new MetricsTracker());
+        assertEquals(KahnTopologicalSort.sort(cond.adjacencyView(), new MetricsTracker()),
+                Arrays.stream(topo).boxed().toList());
+
+        // Separate DAG: 0→1(2), 0→2(7), 1→2(3)
+        List<List<DagShortestPaths.Edge>> dag = List.of(
+                List.of(new DagShortestPaths.Edge(1, 2), new DagShortestPaths.Edge(2, 7)),
+                List.of(new DagShortestPaths.Edge(2, 3)),
+                List.of()
+        );
+        CsrGraph dagCsr = DagShortestPaths.fromWeightedAdjacency(dag);
+        int[] p1 = new int[3];
+        int[] p2 = new int[3];
+        assertArrayEquals(
+                DagShortestPaths.longest(dag, List.of(0, 1, 2), 0, new MetricsTracker(), p1),
+                DagShortestPaths.longest(dagCsr, new int[]{0, 1, 2}, 0, new MetricsTracker(), p2), 1e-9);
+        assertArrayEquals(p1, p2);
+        assertArrayEquals(new double[]{0, 2, 5},
+                DagShortestPaths.shortest(dagCsr, new int[]{0, 1, 2}, 0, new MetricsTracker(), null), 1e-9);
+    }
+}
@@ -1,3 +1,4 @@
+import graphs.csr.CsrGraph;
 import graphs.dagsp.DagShortestPaths;
 import metrics.MetricsTracker;
 import org.junit.jupiter.api.Test;
@@ -133,4 +134,84 @@ public class DagShortestPathsTest {
                 () -> DagShortestPaths.shortest(adj, topo, 5, m),
                 "Out of bounds source should throw");
     }
+
+    @Test
+    void testMultiSourceMatchesSingleSource() {
+        // DAG: 0→1(1), 0→2(4), 1→2(2), 1→3(6), 2→3(3), 4→3(1)
+        CsrGraph g = new CsrGraph.Builder()
+                .addEdge(0, 1, 1).addEdge(0, 2, 4).addEdge(1, 2, 2)
+                .addEdge(1, 3, 6).addEdge(2, 3, 3).addEdge(4, 3, 1)
+                .build(5);
+        int[] topo = {4, 0, 1, 2, 3};
+        int[] sources = {0, 1, 4, 0};
+
+        var shortest = DagShortestPaths.shortestMulti(g, topo, sources, new MetricsTracker());
+        var longest = DagShortestPaths.longestMulti(g, topo, sources, new MetricsTracker());
+
+        assertEquals(4, shortest.width());
+        for (int j = 0; j < sources.length; j++) {
+            assertArrayEquals(DagShortestPaths.shortest(g, topo, sources[j], new MetricsTracker(), null),
+                    shortest.distancesFrom(j), 1e-9, "Lane " + j + " should match single-source shortest");
+            assertArrayEquals(DagShortestPaths.longest(g, topo, sources[j], new MetricsTracker(), new int[5]),
+                    longest.distancesFrom(j), 1e-9, "Lane " + j + " should match single-source longest");
+        }
+    }
+
+    @Test
+    void testAllPairs() {
+        // DAG: 0→1(2), 0→2(3), 1→3(4), 2→3(1)
+        CsrGraph g = new CsrGraph.Builder()
+                .addEdge(0, 1, 2).addEdge(0, 2, 3).addEdge(1, 3, 4).addEdge(2, 3, 1)
+                .build(4);
+        int[] topo = {0, 1, 2, 3};
+
+        var shortest = DagShortestPaths.allPairsShortest(g, topo, new MetricsTracker());
+        var longest = DagShortestPaths.allPairsLongest(g, topo, new MetricsTracker());
+
+        assertEquals(4.0, shortest.get(0, 3), 1e-9);
+        assertEquals(6.0, longest.get(0, 3), 1e-9);
+        assertEquals(0.0, shortest.get(2, 2), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, shortest.get(3, 0));
+        assertEquals(Double.NEGATIVE_INFINITY, longest.get(1, 2));
+    }
+
+    @Test
+    void testMultiSourceInvalidInputs() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of()));
+        int[] topo = {0, 1};
+        MetricsTracker m = new MetricsTracker();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DagShortestPaths.shortestMulti(g, topo, new int[0], m));
+        assertThrows(IllegalArgumentException.class,
+                () -> DagShortestPaths.shortestMulti(g, topo, new int[]{0, 2}, m));
+    }
+
+    @Test
+    void testPathToWithExplicitSource() {
+        // parent tree from source 2: 2→3→4, 2→5; vertices 0 and 1 unreachable
+        int[] parent = {-1, -1, -1, 2, 3, 2};
+
+        assertArrayEquals(new int[]{2, 3, 4}, DagShortestPaths.pathTo(parent, 2, 4));
+        assertArrayEquals(new int[]{2}, DagShortestPaths.pathTo(parent, 2, 2),
+                "Path to the source itself, even when other vertices have no parent");
+        assertArrayEquals(new int[0], DagShortestPaths.pathTo(parent, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> DagShortestPaths.pathTo(parent, 2, 6));
+        assertThrows(IllegalArgumentException.class,
+                () -> DagShortestPaths.pathTo(new int[]{1, 0, -1}, 2, 0), "Cyclic parent[] is rejected");
+    }
+
+    @Test
+    void testPathsToSharesPrefixes() {
+        // chain 0→1→2→3→4 with branch 2→5; vertex 6 unreachable
+        int[] parent = {-1, 0, 1, 2, 3, 2, -1};
+        int[] dests = {4, 2, 5, 6, 0, 4};
+
+        int[][] paths = DagShortestPaths.pathsTo(parent, 0, dests);
+
+        for (int i = 0; i < dests.length; i++) {
+            assertArrayEquals(DagShortestPaths.pathTo(parent, 0, dests[i]), paths[i], "Target " + dests[i]);
+        }
+        assertSame(paths[0], paths[5], "Repeated targets share one array");
+    }
 }
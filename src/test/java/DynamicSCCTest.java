@@ -0,0 +1,119 @@
+import graphs.csr.CsrGraph;
+import graphs.scc.DynamicSCC;
+import graphs.scc.TarjanSCC;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for incremental SCC maintenance.
+ * Tests cover: merge on insertion, search bounded by the topological window, split on deletion,
+ * random edit sequences vs full Tarjan reruns.
+ */
+public class DynamicSCCTest {
+
+    private static DynamicSCC seed(CsrGraph g) {
+        TarjanSCC tarjan = TarjanSCC.of(g);
+        tarjan.run(new MetricsTracker());
+        return DynamicSCC.from(g, tarjan);
+    }
+
+    @Test
+    void testInsertMergesCycle() {
+        // Chain: 0→1→2→3, then 3→1 closes the cycle {1,2,3}
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(3), List.of()));
+        DynamicSCC d = seed(g);
+        MetricsTracker m = new MetricsTracker();
+
+        assertFalse(d.insertEdge(0, 2, m), "Forward edge creates no cycle");
+        assertTrue(d.insertEdge(3, 1, m), "Back edge closes a cycle");
+
+        assertEquals(2, d.componentCount());
+        assertEquals(List.of(List.of(0), List.of(1, 2, 3)), d.components());
+        assertArrayEquals(new int[]{0, 1, 1, 1}, d.componentIds());
+        assertEquals(List.of(List.of(1), List.of()), d.condensation().adjacencyView());
+    }
+
+    @Test
+    void testInsertSearchStaysInWindow() {
+        // Chain 0→1→...→199: every vertex is its own component, ordered along the chain
+        List<List<Integer>> adj = new ArrayList<>();
+        for (int v = 0; v < 200; v++) {
+            adj.add(v + 1 < 200 ? List.of(v + 1) : List.of());
+        }
+        DynamicSCC d = seed(CsrGraph.fromAdjacency(adj));
+        MetricsTracker m = new MetricsTracker();
+
+        assertFalse(d.insertEdge(10, 150, m), "Edge along the order creates no cycle");
+        assertEquals(0, m.getEdgeOps(), "Edge along the order needs no search");
+
+        // 51→50 closes {50, 51}: only the edges of the two endpoints are scanned, not the chain behind 51
+        assertTrue(d.insertEdge(51, 50, m));
+        assertEquals(6, m.getEdgeOps(), "Searches stay between the two endpoints");
+        assertEquals(199, d.componentCount());
+
+        // 199→0 then merges the whole chain
+        assertTrue(d.insertEdge(199, 0, m));
+        assertEquals(1, d.componentCount());
+    }
+
+    @Test
+    void testDeleteSplitsComponent() {
+        // Cycle 0→1→2→0 plus 2→3; removing 2→0 splits the cycle
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(0, 3), List.of()));
+        DynamicSCC d = seed(g);
+        MetricsTracker m = new MetricsTracker();
+
+        assertFalse(d.deleteEdge(2, 3, m), "Edge between components only changes the condensation");
+        assertTrue(d.deleteEdge(2, 0, m));
+
+        assertEquals(4, d.componentCount());
+        assertEquals(List.of(List.of(1), List.of(2), List.of(), List.of()), d.condensation().adjacencyView());
+        assertTrue(m.getDfsOps() <= 3, "Only the affected component is re-explored");
+        assertThrows(IllegalArgumentException.class, () -> d.deleteEdge(2, 0, m));
+    }
+
+    @Test
+    void testRandomEditsMatchFullRecompute() {
+        Random rnd = new Random(42);
+        int n = 60;
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            edges.add(new int[]{rnd.nextInt(n), rnd.nextInt(n)});
+        }
+        DynamicSCC d = seed(build(n, edges));
+        MetricsTracker m = new MetricsTracker();
+
+        for (int step = 0; step < 400; step++) {
+            if (edges.isEmpty() || rnd.nextInt(3) > 0) {
+                int[] e = {rnd.nextInt(n), rnd.nextInt(n)};
+                edges.add(e);
+                d.insertEdge(e[0], e[1], m);
+            } else {
+                int[] e = edges.remove(rnd.nextInt(edges.size()));
+                d.deleteEdge(e[0], e[1], m);
+            }
+
+            TarjanSCC fresh = TarjanSCC.of(build(n, edges));
+            List<List<Integer>> expected = new ArrayList<>();
+            for (List<Integer> c : fresh.run(new MetricsTracker())) {
+                List<Integer> sorted = new ArrayList<>(c);
+                Collections.sort(sorted);
+                expected.add(sorted);
+            }
+            assertEquals(expected, d.components(), "Components after step " + step);
+            assertArrayEquals(fresh.getComponentIds(), d.componentIds(), "Ids after step " + step);
+            assertEquals(fresh.buildCondensation(), d.condensation().adjacencyView(),
+                    "Condensation after step " + step);
+        }
+    }
+
+    private static CsrGraph build(int n, List<int[]> edges) {
+        CsrGraph.Builder b = new CsrGraph.Builder();
+        for (int[] e : edges) {
+            b.addEdge(e[0], e[1], 1);
+        }
+        return b.build(n);
+    }
+}
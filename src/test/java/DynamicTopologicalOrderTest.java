@@ -0,0 +1,101 @@
+import graphs.csr.CsrGraph;
+import graphs.topo.DynamicTopologicalOrder;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for incremental topological order maintenance (Pearce–Kelly).
+ * Tests cover: reordering, untouched vertices, cycle reporting, random insertions, invalid seeds.
+ */
+public class DynamicTopologicalOrderTest {
+
+    @Test
+    void testBackEdgeReordersWindowOnly() {
+        // Order 0,1,2,3,4 with edges 0→1, 2→3; inserting 3→1 must move 3 (and 2) before 1
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(), List.of(3), List.of(), List.of()));
+        DynamicTopologicalOrder d = DynamicTopologicalOrder.of(g, new int[]{0, 1, 2, 3, 4});
+        MetricsTracker m = new MetricsTracker();
+
+        assertFalse(d.insertEdge(0, 4, m), "Edge consistent with the order needs no repair");
+        assertTrue(d.insertEdge(3, 1, m));
+
+        assertArrayEquals(new int[]{0, 2, 3, 1, 4}, d.order());
+        assertEquals(0, d.position(0), "Vertices before the window keep their position");
+        assertEquals(4, d.position(4), "Vertices after the window keep their position");
+        assertEquals(3, m.getTopoOps(), "Only the window is rewritten");
+    }
+
+    @Test
+    void testCycleIsReportedAndGraphUnchanged() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of()));
+        DynamicTopologicalOrder d = DynamicTopologicalOrder.of(g, new int[]{0, 1, 2});
+        MetricsTracker m = new MetricsTracker();
+
+        assertThrows(IllegalStateException.class, () -> d.insertEdge(2, 0, m));
+        assertThrows(IllegalStateException.class, () -> d.insertEdge(1, 1, m));
+        assertArrayEquals(new int[]{0, 1, 2}, d.order());
+
+        d.removeEdge(1, 2);
+        assertTrue(d.insertEdge(2, 1, m), "After removing 1→2 the reverse edge is allowed");
+        assertArrayEquals(new int[]{0, 2, 1}, d.order());
+    }
+
+    @Test
+    void testRandomInsertionsKeepValidOrder() {
+        Random rnd = new Random(3);
+        int n = 200;
+        CsrGraph g = CsrGraph.fromAdjacency(Collections.nCopies(n, List.of()));
+        DynamicTopologicalOrder d = DynamicTopologicalOrder.of(g,
+                KahnTopologicalSort.sortCsr(g, new MetricsTracker()));
+        List<int[]> edges = new ArrayList<>();
+        MetricsTracker m = new MetricsTracker();
+
+        for (int i = 0; i < 2_000; i++) {
+            int u = rnd.nextInt(n), v = rnd.nextInt(n);
+            try {
+                d.insertEdge(u, v, m);
+                edges.add(new int[]{u, v});
+            } catch (IllegalStateException cycle) {
+                // the rejected edge must really close a cycle: v already reaches u
+                assertTrue(u == v || reaches(n, edges, v, u), "False cycle report for " + u + "→" + v);
+            }
+        }
+        int[] order = d.order();
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) pos[order[i]] = i;
+        for (int[] e : edges) {
+            assertTrue(pos[e[0]] < pos[e[1]], "Order must respect edge " + e[0] + "→" + e[1]);
+        }
+    }
+
+    @Test
+    void testInvalidSeedThrows() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> DynamicTopologicalOrder.of(g, new int[]{1, 0}));
+        assertThrows(IllegalArgumentException.class, () -> DynamicTopologicalOrder.of(g, new int[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> DynamicTopologicalOrder.of(null, new int[]{0}));
+    }
+
+    private static boolean reaches(int n, List<int[]> edges, int from, int to) {
+        List<List<Integer>> adj = new ArrayList<>();
+        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
+        for (int[] e : edges) adj.get(e[0]).add(e[1]);
+        boolean[] seen = new boolean[n];
+        Deque<Integer> stack = new ArrayDeque<>(List.of(from));
+        seen[from] = true;
+        while (!stack.isEmpty()) {
+            int x = stack.pop();
+            if (x == to) return true;
+            for (int y : adj.get(x)) {
+                if (!seen[y]) {
+                    seen[y] = true;
+                    stack.push(y);
+                }
+            }
+        }
+        return false;
+    }
+}
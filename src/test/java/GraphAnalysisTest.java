@@ -0,0 +1,87 @@
+import graphs.cache.GraphAnalysis;
+import graphs.cache.GraphAnalysis.SccEngine;
+import graphs.csr.CsrGraph;
+import graphs.scc.CondensationBuilder.ParallelEdgePolicy;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DAG fast path of GraphAnalysis.
+ * Tests cover: identical results on random DAGs, fallback on cycles and parallel edges
+ * (with the counters of the full pipeline).
+ */
+public class GraphAnalysisTest {
+
+    @Test
+    void testFastPathMatchesFullPipeline() {
+        Random rnd = new Random(17);
+        for (int round = 0; round < 30; round++) {
+            int n = 2 + rnd.nextInt(300);
+            // random DAG over a shuffled vertex order, edges in random order, no duplicates
+            List<Integer> rank = new ArrayList<>();
+            for (int v = 0; v < n; v++) rank.add(v);
+            Collections.shuffle(rank, rnd);
+            Set<Long> seen = new HashSet<>();
+            CsrGraph.Builder b = new CsrGraph.Builder();
+            for (int i = 0; i < 2 * n; i++) {
+                int a = rnd.nextInt(n), c = rnd.nextInt(n);
+                if (a == c) continue;
+                int u = rank.get(Math.min(a, c)), v = rank.get(Math.max(a, c));
+                if (seen.add((long) u * n + v)) b.addEdge(u, v, 1 + rnd.nextInt(9));
+            }
+            CsrGraph g = b.build(n);
+
+            MetricsTracker fastM = new MetricsTracker();
+            GraphAnalysis fast = GraphAnalysis.compute(g, ParallelEdgePolicy.FIRST, SccEngine.TARJAN, true, fastM);
+            GraphAnalysis full = GraphAnalysis.compute(g, ParallelEdgePolicy.FIRST, new MetricsTracker());
+
+            assertEquals(0, fastM.getDfsOps(), "Fast path runs no DFS");
+            assertEquals(full.components(), fast.components());
+            assertArrayEquals(full.componentId(), fast.componentId());
+            assertArrayEquals(full.topo(), fast.topo());
+            assertCsrEquals(full.condensation().dag(), fast.condensation().dag());
+            assertCsrEquals(full.condensation().weighted(), fast.condensation().weighted());
+
+            int src = rnd.nextInt(n);
+            GraphAnalysis.SourcePaths a = full.pathsFrom(src, new MetricsTracker());
+            GraphAnalysis.SourcePaths p = fast.pathsFrom(src, new MetricsTracker());
+            assertArrayEquals(a.shortest(), p.shortest());
+            assertArrayEquals(a.shortestParent(), p.shortestParent());
+            assertArrayEquals(a.longest(), p.longest());
+            assertArrayEquals(a.longestParent(), p.longestParent());
+        }
+    }
+
+    @Test
+    void testFallsBackOnCyclesAndParallelEdges() {
+        CsrGraph cyclic = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(0, 2), List.of()));
+        MetricsTracker m = new MetricsTracker();
+        GraphAnalysis a = GraphAnalysis.compute(cyclic, ParallelEdgePolicy.FIRST, SccEngine.TARJAN, true, m);
+        assertEquals(List.of(List.of(0, 1), List.of(2)), a.components());
+        assertTrue(m.getDfsOps() > 0, "Cyclic graph takes the full pipeline");
+        MetricsTracker full = new MetricsTracker();
+        GraphAnalysis.compute(cyclic, ParallelEdgePolicy.FIRST, full);
+        assertEquals(full.getDfsOps(), m.getDfsOps());
+        assertEquals(full.getEdgeOps(), m.getEdgeOps(), "Aborted Kahn probe is not counted");
+        assertEquals(full.getTopoOps(), m.getTopoOps(), "Aborted Kahn probe is not counted");
+
+        // 0→1 twice: the condensation would merge them, so the fast path must not apply
+        CsrGraph parallel = new CsrGraph.Builder().addEdge(0, 1, 5).addEdge(0, 1, 2).build(2);
+        MetricsTracker p = new MetricsTracker();
+        GraphAnalysis b = GraphAnalysis.compute(parallel, ParallelEdgePolicy.MIN, SccEngine.TARJAN, true, p);
+        assertEquals(2, p.getDfsOps());
+        assertEquals(1, b.condensation().weighted().edges());
+        assertEquals(2.0, b.condensation().weighted().weight(0));
+    }
+
+    private static void assertCsrEquals(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.nodes(), actual.nodes());
+        assertArrayEquals(expected.offsets(), actual.offsets());
+        assertArrayEquals(expected.targets(), actual.targets());
+        for (int e = 0; e < expected.edges(); e++) {
+            assertEquals(expected.weight(e), actual.weight(e), "weight of edge " + e);
+        }
+    }
+}
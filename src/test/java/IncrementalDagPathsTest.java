@@ -0,0 +1,92 @@
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.dagsp.DagShortestPaths.Mode;
+import graphs.dagsp.IncrementalDagPaths;
+import graphs.generator.SyntheticGraphGenerator;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for incremental DAG path repair after weight changes.
+ * Tests cover: changed-vertex reporting, early stop, random updates vs full recompute (both modes).
+ */
+public class IncrementalDagPathsTest {
+
+    @Test
+    void testChangedVerticesAndEarlyStop() {
+        // DAG: 0→1(1), 0→2(5), 1→2(1), 2→3(1), 1→3(10)
+        CsrGraph g = new CsrGraph.Builder()
+                .addEdge(0, 1, 1).addEdge(0, 2, 5).addEdge(1, 2, 1).addEdge(1, 3, 10).addEdge(2, 3, 1)
+                .build(4);
+        int[] topo = {0, 1, 2, 3};
+        int[] parent = new int[4];
+        double[] dist = DagShortestPaths.shortest(g, topo, 0, new MetricsTracker(), parent);
+        IncrementalDagPaths inc = new IncrementalDagPaths(g, topo, 0, Mode.SHORTEST, dist, parent);
+        MetricsTracker m = new MetricsTracker();
+
+        // 0→2 is not on any shortest path: raising it changes nothing
+        assertArrayEquals(new int[0], inc.setWeight(1, 50, m));
+        // raising 1→2 to 3 moves vertex 2 to 4 and vertex 3 to 5
+        assertArrayEquals(new int[]{2, 3}, inc.setWeight(2, 3, m));
+        assertArrayEquals(new double[]{0, 1, 4, 5}, dist, 1e-9);
+        assertArrayEquals(new int[]{-1, 0, 1, 2}, parent);
+        assertEquals(2, m.getRelaxOps());
+    }
+
+    @Test
+    void testRandomUpdatesMatchFullRecompute() {
+        var spec = new SyntheticGraphGenerator.Spec("dag", 2_000, 3.0, 40, 3, 0.0,
+                SyntheticGraphGenerator.SccSizes.UNIFORM, 2,
+                SyntheticGraphGenerator.Weights.INTEGER, 1, 4, 21);
+        CsrGraph g = SyntheticGraphGenerator.generateCsr(spec);
+        int[] topo = KahnTopologicalSort.sortCsr(g, new MetricsTracker());
+        Random rnd = new Random(8);
+
+        for (Mode mode : Mode.values()) {
+            int src = topo[rnd.nextInt(50)];
+            int[] parent = new int[g.nodes()];
+            double[] dist = full(g, topo, src, mode, parent);
+            IncrementalDagPaths inc = new IncrementalDagPaths(g, topo, src, mode, dist, parent);
+
+            for (int step = 0; step < 200; step++) {
+                double[] before = dist.clone();
+                int[] changed = inc.setWeight(rnd.nextInt(g.edges()), 1 + rnd.nextInt(4), new MetricsTracker());
+
+                int[] expectedParent = new int[g.nodes()];
+                double[] expected = full(inc.graph(), topo, src, mode, expectedParent);
+                assertArrayEquals(expected, dist, 0.0, mode + " distances after step " + step);
+                assertArrayEquals(expectedParent, parent, mode + " parents after step " + step);
+
+                Set<Integer> diff = new HashSet<>();
+                for (int v = 0; v < dist.length; v++) {
+                    if (Double.compare(before[v], dist[v]) != 0) diff.add(v);
+                }
+                Set<Integer> reported = new HashSet<>();
+                for (int v : changed) reported.add(v);
+                assertEquals(diff, reported, mode + " changed set after step " + step);
+            }
+        }
+    }
+
+    @Test
+    void testInvalidInputsThrow() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of()));
+        double[] dist = {0, 1};
+        int[] parent = {-1, 0};
+        assertThrows(IllegalArgumentException.class,
+                () -> new IncrementalDagPaths(g, new int[]{0}, 0, Mode.SHORTEST, dist, parent));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IncrementalDagPaths(g, new int[]{0, 1}, 0, Mode.SHORTEST, new double[1], parent));
+        IncrementalDagPaths inc = new IncrementalDagPaths(g, new int[]{0, 1}, 0, Mode.SHORTEST, dist, parent);
+        assertThrows(IllegalArgumentException.class, () -> inc.setWeight(1, 2.0, new MetricsTracker()));
+    }
+
+    private static double[] full(CsrGraph g, int[] topo, int src, Mode mode, int[] parent) {
+        return mode == Mode.SHORTEST
+                ? DagShortestPaths.shortest(g, topo, src, new MetricsTracker(), parent)
+                : DagShortestPaths.longest(g, topo, src, new MetricsTracker(), parent);
+    }
+}
@@ -0,0 +1,79 @@
+import JSONReader.JsonGraphReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JSON graph reader.
+ * Tests cover: streaming vs tree parity, single-graph format, field order, validation.
+ */
+public class JsonGraphReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStreamingMatchesTreeOnDatasets() throws IOException {
+        for (String name : List.of("small.json", "medium.json", "large.json")) {
+            Path file = Path.of("data", name);
+            List<JsonGraphReader.SingleGraph> tree = JsonGraphReader.readMany(file);
+            List<JsonGraphReader.SingleGraph> streamed = new ArrayList<>();
+            JsonGraphReader.stream(file, streamed::add);
+
+            assertEquals(tree.size(), streamed.size(), "Same number of graphs in " + name);
+            for (int i = 0; i < tree.size(); i++) {
+                assertSameGraph(tree.get(i), streamed.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testSingleGraphWithNodesAfterEdges() throws IOException {
+        Path file = dir.resolve("single.json");
+        Files.writeString(file, """
+                { "edges": [ {"from": 1, "to": 0, "w": 2.5}, {"from": 0, "to": 1} ],
+                  "extra": { "ignored": [1, 2] },
+                  "id": "g", "nodes": 2, "source": 1 }
+                """);
+        List<JsonGraphReader.SingleGraph> streamed = new ArrayList<>();
+        JsonGraphReader.stream(file, streamed::add);
+
+        assertEquals(1, streamed.size());
+        JsonGraphReader.SingleGraph g = streamed.get(0);
+        assertSameGraph(JsonGraphReader.readMany(file).get(0), g);
+        assertEquals(List.of(List.of(1), List.of(0)), g.adj());
+        assertEquals(2.5, g.weightedAdj().get(1).get(0).weight, 1e-9);
+        assertEquals(1.0, g.weightedAdj().get(0).get(0).weight, 1e-9, "Missing weight defaults to 1.0");
+    }
+
+    @Test
+    void testStreamingValidation() throws IOException {
+        Path outOfRange = dir.resolve("range.json");
+        Files.writeString(outOfRange, "{ \"nodes\": 2, \"edges\": [ {\"from\": 0, \"to\": 2} ] }");
+        assertThrows(IllegalArgumentException.class, () -> JsonGraphReader.stream(outOfRange, g -> { }));
+
+        Path missingNodes = dir.resolve("nodes.json");
+        Files.writeString(missingNodes, "{ \"graphs\": [ { \"edges\": [] } ] }");
+        assertThrows(IllegalArgumentException.class, () -> JsonGraphReader.stream(missingNodes, g -> { }));
+
+        Path missingTo = dir.resolve("to.json");
+        Files.writeString(missingTo, "{ \"nodes\": 2, \"edges\": [ {\"from\": 0} ] }");
+        assertThrows(IllegalArgumentException.class, () -> JsonGraphReader.stream(missingTo, g -> { }));
+    }
+
+    private static void assertSameGraph(JsonGraphReader.SingleGraph expected, JsonGraphReader.SingleGraph actual) {
+        assertEquals(expected.id(), actual.id());
+        assertEquals(expected.nodes(), actual.nodes());
+        assertEquals(expected.edgesCount(), actual.edgesCount());
+        assertEquals(expected.density(), actual.density());
+        assertEquals(expected.isDag(), actual.isDag());
+        assertEquals(expected.source(), actual.source());
+        assertArrayEquals(expected.graph().offsets(), actual.graph().offsets());
+        assertArrayEquals(expected.graph().targets(), actual.graph().targets());
+        assertArrayEquals(expected.graph().weights(), actual.graph().weights(), 1e-12);
+    }
+}
@@ -1,3 +1,4 @@
+import graphs.csr.CsrGraph;
 import graphs.topo.KahnTopologicalSort;
 import metrics.MetricsTracker;
 import org.junit.jupiter.api.Test;
@@ -89,6 +90,67 @@ public class KahnTopologicalSortTest {
         assertTrue(order.indexOf(2) < order.indexOf(3), "2 before 3");
     }
 
+    @Test
+    void testFrontiersAgreeOnSmallestOrder() {
+        // Random DAG (edges only go from lower to higher rank of a shuffled permutation)
+        Random rnd = new Random(42);
+        int n = 500;
+        List<Integer> rank = new ArrayList<>();
+        for (int i = 0; i < n; i++) rank.add(i);
+        Collections.shuffle(rank, rnd);
+        CsrGraph.Builder b = new CsrGraph.Builder();
+        for (int k = 0; k < 2000; k++) {
+            int a = rnd.nextInt(n), c = rnd.nextInt(n);
+            if (rank.get(a) < rank.get(c)) b.addEdge(a, c, 1);
+        }
+        CsrGraph g = b.build(n);
+
+        // reference: Kahn with a boxed PriorityQueue
+        int[] indeg = new int[n];
+        for (int v : g.targets()) indeg[v]++;
+        PriorityQueue<Integer> pq = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) if (indeg[i] == 0) pq.add(i);
+        List<Integer> expected = new ArrayList<>();
+        while (!pq.isEmpty()) {
+            int u = pq.remove();
+            expected.add(u);
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                if (--indeg[g.target(e)] == 0) pq.add(g.target(e));
+            }
+        }
+        int[] heap = KahnTopologicalSort.sortCsr(g, new MetricsTracker(), KahnTopologicalSort.Frontier.MIN_HEAP);
+        int[] bitset = KahnTopologicalSort.sortCsr(g, new MetricsTracker(), KahnTopologicalSort.Frontier.BITSET);
+        int[] fifo = KahnTopologicalSort.sortCsr(g, new MetricsTracker(), KahnTopologicalSort.Frontier.FIFO);
+
+        assertEquals(expected, Arrays.stream(heap).boxed().toList(), "Heap frontier is smallest-first");
+        assertArrayEquals(heap, bitset, "Bitset frontier gives the same order as the heap");
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) pos[fifo[i]] = i;
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                assertTrue(pos[u] < pos[g.target(e)], "FIFO order must respect edge " + u + "→" + g.target(e));
+            }
+        }
+    }
+
+    @Test
+    void testFrontiersDetectCycle() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(1)));
+        for (KahnTopologicalSort.Frontier f : KahnTopologicalSort.Frontier.values()) {
+            assertThrows(IllegalStateException.class,
+                    () -> KahnTopologicalSort.sortCsr(g, new MetricsTracker(), f),
+                    "Cycle must be detected by " + f);
+        }
+    }
+
+    @Test
+    void testSortIfDag() {
+        CsrGraph cyclic = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(1)));
+        assertNull(KahnTopologicalSort.sortIfDag(cyclic, new MetricsTracker()), "Cycle is reported as null");
+        CsrGraph dag = CsrGraph.fromAdjacency(List.of(List.of(2), List.of(0), List.of()));
+        assertArrayEquals(new int[]{1, 0, 2}, KahnTopologicalSort.sortIfDag(dag, new MetricsTracker()));
+    }
+
     @Test
     void testNullGraphThrows() {
         MetricsTracker m = new MetricsTracker();
@@ -0,0 +1,123 @@
+import metrics.LatencyHistogram;
+import metrics.MetricsTracker;
+import metrics.Phase;
+import metrics.PhaseSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for latency histograms and per-phase timing.
+ * Tests cover: exact small values, percentile precision vs sorted samples, merge,
+ * accumulating phase timers, the phase summary CSV.
+ */
+public class LatencyHistogramTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 10; v++) h.record(v);
+        assertEquals(10, h.count());
+        assertEquals(5, h.valueAtPercentile(50));
+        assertEquals(9, h.valueAtPercentile(90));
+        assertEquals(10, h.valueAtPercentile(100));
+        assertEquals(1, h.valueAtPercentile(0));
+        assertEquals(5.5, h.mean(), 1e-12);
+        assertEquals(0, new LatencyHistogram().valueAtPercentile(99), "Empty histogram reports 0");
+        assertThrows(IllegalArgumentException.class, () -> h.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> h.valueAtPercentile(101));
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        Random rnd = new Random(3);
+        LatencyHistogram h = new LatencyHistogram();
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // log-uniform between 1 µs and ~1 s
+            values[i] = (long) Math.pow(10, 3 + rnd.nextDouble() * 6);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[]{10, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = h.valueAtPercentile(p);
+            assertTrue(reported >= exact && reported <= exact * 1.035,
+                    "p" + p + ": exact " + exact + ", reported " + reported);
+        }
+        assertEquals(values[values.length - 1], h.max());
+        assertEquals(values[values.length - 1], h.valueAtPercentile(100));
+    }
+
+    @Test
+    void testMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(100);
+        b.record(5_000_000);
+        b.record(7);
+        a.merge(b);
+        assertEquals(3, a.count());
+        assertEquals(7, a.min());
+        assertEquals(5_000_000, a.max());
+        long p50 = a.valueAtPercentile(50);
+        assertTrue(p50 >= 100 && p50 <= 103, "p50 " + p50);
+    }
+
+    @Test
+    void testPhaseTimersAccumulate() throws InterruptedException {
+        MetricsTracker m = new MetricsTracker();
+        m.startPhase(Phase.SCC);
+        Thread.sleep(2);
+        m.stopPhase(Phase.SCC);
+        long first = m.getPhaseNanos(Phase.SCC);
+        m.startPhase(Phase.SCC);
+        m.stopPhase(Phase.SCC);
+        assertTrue(first >= 2_000_000);
+        assertTrue(m.getPhaseNanos(Phase.SCC) >= first, "Second interval is added, not overwritten");
+        assertEquals(0, m.getPhaseNanos(Phase.TOPO));
+
+        m.start();
+        Thread.sleep(1);
+        m.stop();
+        double once = m.getElapsedMs();
+        m.start();
+        Thread.sleep(1);
+        m.stop();
+        assertTrue(m.getElapsedMs() >= once + 1.0, "elapsedMs sums start/stop intervals");
+
+        m.reset();
+        assertEquals(0, m.getPhaseNanos(Phase.SCC));
+    }
+
+    @Test
+    void testSummaryCsv() throws IOException {
+        PhaseSummary summary = new PhaseSummary();
+        for (int i = 1; i <= 100; i++) {
+            MetricsTracker m = new MetricsTracker();
+            m.addPhaseNanos(Phase.SHORTEST, i * 1_000_000L);
+            summary.record(m);
+        }
+        assertEquals(100, summary.histogram(Phase.PARSE).count());
+
+        Path csv = dir.resolve("summary.csv");
+        summary.writeCsv(csv);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(PhaseSummary.HEADER, lines.get(0));
+        assertEquals(1 + Phase.values().length, lines.size());
+        String[] shortest = lines.get(1 + Phase.SHORTEST.ordinal()).split(",");
+        assertEquals("shortest", shortest[0]);
+        assertEquals("100", shortest[1]);
+        assertEquals("50.500", shortest[2]);
+        double p50 = Double.parseDouble(shortest[3]);
+        assertTrue(p50 >= 50.0 && p50 <= 50.0 * 1.035, "p50 " + p50);
+        assertEquals("100.000", shortest[6]);
+    }
+}
@@ -0,0 +1,90 @@
+import metrics.MetricsCsvSink;
+import metrics.MetricsTracker;
+import metrics.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the batched metrics CSV sink.
+ * Tests cover: number formatting vs String.format, header handling, phase columns, concurrent appends.
+ */
+public class MetricsCsvSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFixed3MatchesStringFormat() {
+        Random rnd = new Random(1);
+        List<Double> values = new ArrayList<>(List.of(0.0, -0.0, 0.0005, 1.0005, 2.0015, 0.9995, 123.4565,
+                -1.2345, 999.9995, 1e-9, 5e12, Double.NaN, Double.POSITIVE_INFINITY));
+        for (int i = 0; i < 20_000; i++) {
+            values.add(rnd.nextDouble() * Math.pow(10, rnd.nextInt(8)));
+            values.add(rnd.nextInt(1_000_000) / 2000.0); // exact and near ties
+        }
+        StringBuilder sb = new StringBuilder();
+        for (double x : values) {
+            sb.setLength(0);
+            MetricsCsvSink.appendFixed3(sb, x);
+            assertEquals(String.format(Locale.US, "%.3f", x), sb.toString(), "Formatting " + x);
+        }
+    }
+
+    @Test
+    void testRowsAndSingleHeader() throws IOException {
+        Path csv = dir.resolve("metrics.csv");
+        MetricsTracker m = new MetricsTracker();
+        m.incDfs();
+        m.addEdgeOps(5);
+        m.addPhaseNanos(Phase.SCC, 1_500_000);
+        m.addPhaseNanos(Phase.WRITE, 2_000);
+
+        try (MetricsCsvSink sink = new MetricsCsvSink(csv, 2)) {
+            sink.append("a.json", "g1", m);
+        }
+        try (MetricsCsvSink sink = new MetricsCsvSink(csv, 2)) {
+            sink.append("a.json", "g2", m);
+        }
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(MetricsCsvSink.HEADER, lines.get(0));
+        assertEquals(3, lines.size(), "Header is written only for a new file");
+        assertEquals("a.json,g2,0.000,1,5,0,0,0.000,1.500,0.000,0.000,0.000,0.000,0.002", lines.get(2));
+        assertTrue(lines.get(0).endsWith(",parseMs,sccMs,condensationMs,topoMs,shortestMs,longestMs,writeMs"));
+        new MetricsCsvSink(dir.resolve("unused.csv"), 1).close(); // no rows, no file
+        assertFalse(Files.exists(dir.resolve("unused.csv")));
+    }
+
+    @Test
+    void testConcurrentAppends() throws Exception {
+        Path csv = dir.resolve("metrics.csv");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (MetricsCsvSink sink = new MetricsCsvSink(csv, 64)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        sink.append("in.json", "t" + thread + "-" + i, new MetricsTracker());
+                    }
+                }));
+            }
+            for (Future<?> f : tasks) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(4_001, lines.size());
+        assertEquals(4_000, new HashSet<>(lines.subList(1, lines.size())).size(), "No lost or torn rows");
+        for (String line : lines.subList(1, lines.size())) {
+            assertEquals(7 + Phase.values().length, line.split(",").length, "Malformed row: " + line);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import metrics.Phase;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MetricsTracker implementations.
+ * Tests cover: no-op tracker, concurrent tracker under contention, merge across
+ * implementations, bulk-reported counters of Tarjan/Kahn/DAG-SP.
+ */
+public class MetricsTrackerTest {
+
+    @Test
+    void testNoopRecordsNothing() {
+        MetricsTracker m = MetricsTracker.noop();
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of()));
+        assertEquals(3, TarjanSCC.of(g).run(m).size());
+        m.incEdge();
+        m.addRelaxOps(5);
+        m.addPhaseNanos(Phase.SCC, 10);
+        m.start();
+        m.stop();
+        assertEquals(0, m.getDfsOps() + m.getEdgeOps() + m.getRelaxOps());
+        assertEquals(0, m.getPhaseNanos(Phase.SCC));
+        assertEquals(0.0, m.getElapsedMs());
+        assertSame(m, MetricsTracker.noop());
+    }
+
+    @Test
+    void testConcurrentCountsFromManyThreads() throws Exception {
+        MetricsTracker m = MetricsTracker.concurrent();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(pool.submit(() -> {
+                    m.startPhase(Phase.SHORTEST);
+                    for (int i = 0; i < 100_000; i++) {
+                        m.incEdge();
+                    }
+                    m.addRelaxOps(3);
+                    m.stopPhase(Phase.SHORTEST);
+                }));
+            }
+            for (Future<?> f : tasks) f.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(400_000, m.getEdgeOps());
+        assertEquals(12, m.getRelaxOps());
+        assertTrue(m.getPhaseNanos(Phase.SHORTEST) > 0);
+
+        MetricsTracker plain = new MetricsTracker();
+        plain.merge(m);
+        m.merge(plain);
+        assertEquals(400_000, plain.getEdgeOps());
+        assertEquals(800_000, m.getEdgeOps());
+        m.reset();
+        assertEquals(0, m.getEdgeOps());
+    }
+
+    @Test
+    void testBulkCountersMatchPerStepCounts() {
+        // 0→1→2→0 cycle plus 2→3, 3→4
+        CsrGraph cyclic = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(0, 3), List.of(4), List.of()));
+        MetricsTracker m = new MetricsTracker();
+        TarjanSCC.of(cyclic).run(m);
+        assertEquals(5, m.getDfsOps());
+        assertEquals(5, m.getEdgeOps());
+
+        // Kahn stops at the cycle: nothing is dequeued, no edge scanned
+        MetricsTracker k = new MetricsTracker();
+        assertThrows(IllegalStateException.class, () -> KahnTopologicalSort.sortCsr(cyclic, k));
+        assertEquals(0, k.getTopoOps());
+        assertEquals(0, k.getEdgeOps());
+
+        // 4→0 in front of a cycle 0→1→2→0: only 3 (isolated) and 4 are dequeued, 4 scans its one edge
+        CsrGraph tail = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(0), List.of(), List.of(0)));
+        MetricsTracker t = new MetricsTracker();
+        assertThrows(IllegalStateException.class, () -> KahnTopologicalSort.sortCsr(tail, t));
+        assertEquals(2, t.getTopoOps());
+        assertEquals(1, t.getEdgeOps());
+
+        CsrGraph dag = new CsrGraph.Builder().addEdge(0, 1, 2).addEdge(0, 2, 5).addEdge(1, 2, 1).build(3);
+        MetricsTracker d = new MetricsTracker();
+        DagShortestPaths.shortest(dag, new int[]{0, 1, 2}, 0, d, null);
+        assertEquals(3, d.getRelaxOps(), "0→1, 0→2, then 1→2 improves 2");
+    }
+}
@@ -0,0 +1,80 @@
+import graphs.csr.CsrGraph;
+import graphs.topo.ParallelKahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the level-synchronous parallel Kahn sort.
+ * Tests cover: levels, wide DAGs (parallel path, dedicated pool), determinism, cycle detection.
+ */
+public class ParallelKahnTopologicalSortTest {
+
+    @Test
+    void testLevelsOnDiamond() {
+        // Graph: 0→1, 0→2, 1→3, 2→3, 4 isolated
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(
+                List.of(1, 2), List.of(3), List.of(3), List.of(), List.of()));
+        MetricsTracker m = new MetricsTracker();
+        var r = ParallelKahnTopologicalSort.sort(g, m);
+
+        assertArrayEquals(new int[]{0, 4, 1, 2, 3}, r.order(), "Grouped by level, then by id");
+        assertArrayEquals(new int[]{0, 1, 1, 2, 0}, r.level());
+        assertEquals(3, r.levelCount());
+        assertEquals(5, m.getTopoOps(), "Should process all 5 nodes");
+        assertEquals(4, m.getEdgeOps(), "Should explore all 4 edges");
+    }
+
+    @Test
+    void testWideRandomDag() {
+        // Layered random DAG wide enough to take the parallel path
+        Random rnd = new Random(7);
+        int layers = 6, width = 10_000, n = layers * width;
+        CsrGraph.Builder b = new CsrGraph.Builder();
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int k = 0; k < 3 * width; k++) {
+                int u = l * width + rnd.nextInt(width);
+                int v = (l + 1 + rnd.nextInt(layers - l - 1)) * width + rnd.nextInt(width);
+                b.addEdge(u, v, 1);
+            }
+        }
+        CsrGraph g = b.build(n);
+
+        var r = ParallelKahnTopologicalSort.sort(g, new MetricsTracker());
+        var again = ParallelKahnTopologicalSort.sort(g, new MetricsTracker());
+
+        assertEquals(n, r.order().length);
+        assertArrayEquals(r.order(), again.order(), "Order must be deterministic");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            var onPool = ParallelKahnTopologicalSort.sort(g, new MetricsTracker(), pool);
+            assertArrayEquals(r.order(), onPool.order(), "Same order on a dedicated pool");
+        } finally {
+            pool.shutdown();
+        }
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) pos[r.order()[i]] = i;
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                assertTrue(pos[u] < pos[v], "Order must respect edge " + u + "→" + v);
+                assertTrue(r.level()[u] < r.level()[v], "Level must increase along edge " + u + "→" + v);
+            }
+        }
+    }
+
+    @Test
+    void testCycleDetection() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of(0), List.of()));
+        assertThrows(IllegalStateException.class,
+                () -> ParallelKahnTopologicalSort.sort(g, new MetricsTracker()));
+    }
+
+    @Test
+    void testNullGraphThrows() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ParallelKahnTopologicalSort.sort(null, new MetricsTracker()));
+    }
+}
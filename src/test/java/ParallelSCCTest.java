@@ -0,0 +1,98 @@
+import graphs.csr.CsrGraph;
+import graphs.generator.SyntheticGraphGenerator;
+import graphs.scc.ParallelSCC;
+import graphs.scc.TarjanSCC;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the forward-backward parallel SCC engine.
+ * Tests cover: small graphs, trimming-only inputs, random graphs with a giant SCC,
+ * generated layered graphs, long split chains, same output and counters as Tarjan.
+ */
+public class ParallelSCCTest {
+
+    @Test
+    void testSmallGraph() {
+        // Graph: 0→1→2→0 cycle, 2→3, 3→4→3 cycle, 5 with self-loop
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(
+                List.of(1), List.of(2), List.of(0, 3), List.of(4), List.of(3), List.of(5)));
+        MetricsTracker m = new MetricsTracker();
+        ParallelSCC.Result r = ParallelSCC.run(g, m);
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4), List.of(5)), r.components());
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 2}, r.componentId());
+        assertEquals(6, m.getDfsOps());
+        assertEquals(7, m.getEdgeOps());
+    }
+
+    @Test
+    void testDagIsTrimmedCompletely() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1, 2), List.of(3), List.of(3), List.of()));
+        MetricsTracker m = new MetricsTracker();
+        ParallelSCC.Result r = ParallelSCC.run(g, m);
+        assertEquals(4, r.components().size());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, r.componentId());
+        assertEquals(4, m.getDfsOps());
+        assertEquals(4, m.getEdgeOps(), "Same counters as Tarjan");
+    }
+
+    @Test
+    void testRandomGraphsMatchTarjan() {
+        Random rnd = new Random(5);
+        for (int round = 0; round < 4; round++) {
+            int n = round < 2 ? 300 : 40_000;
+            CsrGraph.Builder b = new CsrGraph.Builder();
+            long edges = (long) (n * (0.8 + 0.5 * round));
+            for (long i = 0; i < edges; i++) {
+                b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+            }
+            assertSameAsTarjan(b.build(n));
+        }
+    }
+
+    @Test
+    void testGeneratedGraphsMatchTarjan() {
+        for (long seed = 1; seed <= 3; seed++) {
+            var spec = new SyntheticGraphGenerator.Spec("g", 30_000, 3.0, 20, 3, 0.4,
+                    SyntheticGraphGenerator.SccSizes.POWER_LAW, 500,
+                    SyntheticGraphGenerator.Weights.CONSTANT, 1, 1, seed);
+            assertSameAsTarjan(SyntheticGraphGenerator.generateCsr(spec));
+        }
+    }
+
+    @Test
+    void testLongChainOfCycles() {
+        // a_i ↔ b_i, a_i → a_{i+1}: nothing can be trimmed and every split peels one SCC
+        int pairs = 6_000;
+        CsrGraph.Builder b = new CsrGraph.Builder();
+        for (int i = 0; i < pairs; i++) {
+            b.addEdge(2 * i, 2 * i + 1, 1).addEdge(2 * i + 1, 2 * i, 1);
+            if (i + 1 < pairs) b.addEdge(2 * i, 2 * i + 2, 1);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelSCC.Result r = ParallelSCC.run(b.build(2 * pairs), new MetricsTracker(), pool);
+            assertEquals(pairs, r.components().size());
+            assertEquals(List.of(2 * pairs - 2, 2 * pairs - 1), r.components().get(pairs - 1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertSameAsTarjan(CsrGraph g) {
+        TarjanSCC tarjan = TarjanSCC.of(g);
+        MetricsTracker expectedM = new MetricsTracker();
+        List<List<Integer>> expected = tarjan.run(expectedM);
+        MetricsTracker m = new MetricsTracker();
+        ParallelSCC.Result r = ParallelSCC.run(g, m);
+
+        assertArrayEquals(tarjan.getComponentIds(), r.componentId(), "componentId must match Tarjan");
+        assertEquals(expected, r.components());
+        assertEquals(expectedM.getDfsOps(), m.getDfsOps());
+        assertEquals(expectedM.getEdgeOps(), m.getEdgeOps());
+    }
+}
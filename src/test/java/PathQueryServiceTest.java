@@ -0,0 +1,140 @@
+import graphs.csr.CsrGraph;
+import graphs.dagsp.DagShortestPaths;
+import graphs.dagsp.DagShortestPaths.Mode;
+import graphs.dagsp.PathQueryService;
+import graphs.dagsp.PathQueryService.Query;
+import graphs.generator.SyntheticGraphGenerator;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the parallel path query service.
+ * Tests cover: agreement with single-source DAG paths, paths, unreachable targets, metrics, invalid input,
+ * chunked stream input.
+ */
+public class PathQueryServiceTest {
+
+    @Test
+    void testParallelAnswersMatchSingleSource() {
+        var spec = new SyntheticGraphGenerator.Spec("dag", 3_000, 3.0, 30, 3, 0.0,
+                SyntheticGraphGenerator.SccSizes.UNIFORM, 2,
+                SyntheticGraphGenerator.Weights.INTEGER, 1, 9, 11);
+        CsrGraph g = SyntheticGraphGenerator.generateCsr(spec);
+        int[] topo = KahnTopologicalSort.sortCsr(g, new MetricsTracker());
+        Random rnd = new Random(5);
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            queries.add(new Query(rnd.nextInt(20), rnd.nextInt(g.nodes()),
+                    i % 2 == 0 ? Mode.SHORTEST : Mode.LONGEST));
+        }
+
+        MetricsTracker m = new MetricsTracker();
+        List<PathQueryService.Answer> answers;
+        try (PathQueryService service = new PathQueryService(g, topo, 4)) {
+            answers = service.run(queries.stream(), m);
+        }
+
+        assertEquals(500, m.getQueryOps());
+        assertTrue(m.getQueriesPerSecond() > 0, "Throughput should be reported");
+        for (PathQueryService.Answer a : answers) {
+            Query q = a.query();
+            int[] parent = new int[g.nodes()];
+            double[] expected = q.mode() == Mode.SHORTEST
+                    ? DagShortestPaths.shortest(g, topo, q.source(), new MetricsTracker(), parent)
+                    : DagShortestPaths.longest(g, topo, q.source(), new MetricsTracker(), parent);
+            assertEquals(expected[q.target()], a.distance(), 1e-9, "Distance for " + q);
+            if (a.reachable()) {
+                int[] path = a.path();
+                assertEquals(q.source(), path[0]);
+                assertEquals(q.target(), path[path.length - 1]);
+                double sum = 0;
+                for (int i = 0; i + 1 < path.length; i++) {
+                    sum += weightOf(g, path[i], path[i + 1], q.mode());
+                }
+                assertEquals(a.distance(), sum, 1e-9, "Path weight should equal distance for " + q);
+            }
+        }
+    }
+
+    @Test
+    void testUnreachableAndSelfQueries() {
+        // DAG: 0→1(2), 1→2(3), 3 isolated
+        CsrGraph g = new CsrGraph.Builder().addEdge(0, 1, 2).addEdge(1, 2, 3).build(4);
+        try (PathQueryService service = new PathQueryService(g, new int[]{0, 3, 1, 2}, 1)) {
+            MetricsTracker m = new MetricsTracker();
+            var toTwo = service.answer(new Query(0, 2, Mode.LONGEST), m);
+            var back = service.answer(new Query(2, 0, Mode.SHORTEST), m);
+            var isolated = service.answer(new Query(0, 3, Mode.SHORTEST), m);
+            var self = service.answer(new Query(1, 1, Mode.SHORTEST), m);
+
+            assertEquals(5.0, toTwo.distance(), 1e-9);
+            assertArrayEquals(new int[]{0, 1, 2}, toTwo.path());
+            assertFalse(back.reachable());
+            assertEquals(Double.POSITIVE_INFINITY, isolated.distance());
+            assertArrayEquals(new int[]{1}, self.path());
+            assertEquals(4, m.getQueryOps());
+        }
+    }
+
+    @Test
+    void testInvalidInputsThrow() {
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new PathQueryService(g, new int[]{0, 0}, 2));
+        assertThrows(IllegalArgumentException.class, () -> new PathQueryService(g, new int[]{0, 1}, 0));
+        try (PathQueryService service = new PathQueryService(g, new int[]{0, 1}, 2)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.run(List.of(new Query(0, 2, Mode.SHORTEST)), new MetricsTracker()));
+            // the invalid query comes after a full chunk that was already submitted
+            Stream<Query> stream = Stream.concat(
+                    Stream.generate(() -> new Query(0, 1, Mode.SHORTEST)).limit(1_000),
+                    Stream.of(new Query(0, 2, Mode.SHORTEST)));
+            assertThrows(IllegalArgumentException.class, () -> service.run(stream, new MetricsTracker()));
+        }
+    }
+
+    @Test
+    void testStreamMatchesList() {
+        var spec = new SyntheticGraphGenerator.Spec("dag", 2_000, 3.0, 30, 3, 0.0,
+                SyntheticGraphGenerator.SccSizes.UNIFORM, 2,
+                SyntheticGraphGenerator.Weights.INTEGER, 1, 9, 3);
+        CsrGraph g = SyntheticGraphGenerator.generateCsr(spec);
+        int[] topo = KahnTopologicalSort.sortCsr(g, new MetricsTracker());
+        Random rnd = new Random(9);
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            queries.add(new Query(rnd.nextInt(g.nodes()), rnd.nextInt(g.nodes()),
+                    i % 3 == 0 ? Mode.LONGEST : Mode.SHORTEST));
+        }
+        for (int threads : new int[]{1, 3}) {
+            try (PathQueryService service = new PathQueryService(g, topo, threads)) {
+                MetricsTracker m = new MetricsTracker();
+                List<PathQueryService.Answer> fromList = service.run(queries, new MetricsTracker());
+                List<PathQueryService.Answer> fromStream = service.run(queries.stream(), m);
+                assertEquals(queries.size(), fromStream.size());
+                assertEquals(queries.size(), m.getQueryOps());
+                for (int i = 0; i < queries.size(); i++) {
+                    assertEquals(queries.get(i), fromStream.get(i).query());
+                    assertEquals(fromList.get(i).distance(), fromStream.get(i).distance(), 0.0);
+                    assertArrayEquals(fromList.get(i).path(), fromStream.get(i).path());
+                }
+            }
+        }
+    }
+
+    // Weight of u→v; with parallel edges the path uses the best one for the mode
+    private static double weightOf(CsrGraph g, int u, int v, Mode mode) {
+        double best = Double.NaN;
+        for (int e = g.begin(u); e < g.end(u); e++) {
+            if (g.target(e) != v) continue;
+            double w = g.weight(e);
+            if (Double.isNaN(best) || (mode == Mode.SHORTEST ? w < best : w > best)) {
+                best = w;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,87 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.MetricsTracker;
+import metrics.Phase;
+import metrics.PipelineStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for live metrics export.
+ * Tests cover: JFR phase events with graph and counters, JMX totals, registration lifecycle.
+ */
+public class PipelineStatsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPhaseEventsAreRecorded() throws Exception {
+        Path file = dir.resolve("run.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("graphs.Phase").withThreshold(Duration.ZERO);
+            recording.start();
+            for (MetricsTracker m : List.of(new MetricsTracker(), MetricsTracker.concurrent())) {
+                m.describe("g1", 10, 20);
+                m.startPhase(Phase.SCC);
+                m.addDfsOps(10);
+                m.stopPhase(Phase.SCC);
+            }
+            MetricsTracker.noop().startPhase(Phase.TOPO);
+            MetricsTracker.noop().stopPhase(Phase.TOPO);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+            if (e.getEventType().getName().equals("graphs.Phase")) events.add(e);
+        }
+        assertEquals(2, events.size(), "One event per phase interval, none from the no-op tracker");
+        for (RecordedEvent e : events) {
+            assertEquals("scc", e.getString("phase"));
+            assertEquals("g1", e.getString("graphId"));
+            assertEquals(10, e.getInt("vertices"));
+            assertEquals(20, e.getInt("edges"));
+            assertEquals(10, e.getLong("dfsOps"));
+        }
+    }
+
+    @Test
+    void testTotalsOverJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(PipelineStats.OBJECT_NAME);
+        try (PipelineStats stats = PipelineStats.register()) {
+            assertThrows(IllegalStateException.class, PipelineStats::register, "Name is taken");
+            for (int i = 0; i < 3; i++) {
+                MetricsTracker m = new MetricsTracker();
+                m.addEdgeOps(4);
+                m.addPhaseNanos(Phase.WRITE, 2_000_000);
+                stats.record(m);
+            }
+            assertEquals(3L, server.getAttribute(name, "GraphsProcessed"));
+            assertEquals(12L, server.getAttribute(name, "EdgeOps"));
+            TabularData phases = (TabularData) server.getAttribute(name, "PhaseTotalMs");
+            CompositeData write = phases.get(new Object[]{"write"});
+            assertEquals(6.0, (Double) write.get("value"), 1e-9);
+            stats.addPhaseNanos(Phase.WRITE, 1_000_000);
+            assertEquals(3L, server.getAttribute(name, "GraphsProcessed"), "Late phase time is not a new graph");
+            write = ((TabularData) server.getAttribute(name, "PhaseTotalMs")).get(new Object[]{"write"});
+            assertEquals(7.0, (Double) write.get("value"), 1e-9);
+
+            server.invoke(name, "reset", null, null);
+            assertEquals(0, stats.getGraphsProcessed());
+        }
+        assertFalse(server.isRegistered(name), "close() unregisters the bean");
+    }
+}
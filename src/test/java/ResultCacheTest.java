@@ -0,0 +1,118 @@
+import graphs.cache.GraphAnalysis;
+import graphs.cache.ResultCache;
+import graphs.csr.CsrGraph;
+import graphs.scc.CondensationBuilder.ParallelEdgePolicy;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the content-hash result cache.
+ * Tests cover: hits and replayed counters, LRU eviction, on-disk round trip, content keys,
+ * separate DAG fast-path entries.
+ */
+public class ResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    // Graph: 0→1→2→0 cycle, 2→3(4), 3→4(2)
+    private static CsrGraph graph(double lastWeight) {
+        return new CsrGraph.Builder()
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 0, 1)
+                .addEdge(2, 3, 4).addEdge(3, 4, lastWeight)
+                .build(5);
+    }
+
+    @Test
+    void testHitReplaysCounters() {
+        ResultCache cache = new ResultCache(4);
+        MetricsTracker first = new MetricsTracker();
+        GraphAnalysis a = cache.analysis(graph(2), ParallelEdgePolicy.FIRST, first);
+        cache.paths(a, 0, first);
+
+        MetricsTracker second = new MetricsTracker();
+        GraphAnalysis b = cache.analysis(graph(2), ParallelEdgePolicy.FIRST, second);
+        GraphAnalysis.SourcePaths p = cache.paths(b, 0, second);
+
+        assertSame(a, b, "Same content should hit the cache");
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(first.getDfsOps(), second.getDfsOps());
+        assertEquals(first.getEdgeOps(), second.getEdgeOps());
+        assertEquals(first.getTopoOps(), second.getTopoOps());
+        assertEquals(first.getRelaxOps(), second.getRelaxOps());
+        assertArrayEquals(new double[]{0, 4, 6}, p.shortest(), 1e-9);
+    }
+
+    @Test
+    void testKeyDependsOnContentAndPolicy() {
+        assertEquals(ResultCache.contentHash(graph(2)), ResultCache.contentHash(graph(2)));
+        assertNotEquals(ResultCache.contentHash(graph(2)), ResultCache.contentHash(graph(3)));
+
+        ResultCache cache = new ResultCache(4);
+        cache.analysis(graph(2), ParallelEdgePolicy.FIRST, new MetricsTracker());
+        cache.analysis(graph(2), ParallelEdgePolicy.MAX, new MetricsTracker());
+        assertEquals(2, cache.misses(), "Policy is part of the key");
+    }
+
+    @Test
+    void testDagFastPathHasOwnKey() {
+        CsrGraph dag = CsrGraph.fromAdjacency(List.of(List.of(1), List.of(2), List.of()));
+        ResultCache cache = new ResultCache(4);
+        MetricsTracker fast = new MetricsTracker();
+        cache.analysis(dag, ParallelEdgePolicy.FIRST, GraphAnalysis.SccEngine.TARJAN, true, fast);
+        MetricsTracker full = new MetricsTracker();
+        cache.analysis(dag, ParallelEdgePolicy.FIRST, GraphAnalysis.SccEngine.TARJAN, false, full);
+        assertEquals(2, cache.misses(), "Each mode keeps its own counters");
+        assertEquals(0, fast.getDfsOps());
+        assertEquals(3, full.getDfsOps());
+
+        MetricsTracker again = new MetricsTracker();
+        cache.analysis(dag, ParallelEdgePolicy.FIRST, GraphAnalysis.SccEngine.TARJAN, true, again);
+        assertEquals(1, cache.hits());
+        assertEquals(fast.getDfsOps(), again.getDfsOps());
+        assertEquals(fast.getEdgeOps(), again.getEdgeOps());
+        assertEquals(fast.getTopoOps(), again.getTopoOps());
+    }
+
+    @Test
+    void testLruEviction() {
+        ResultCache cache = new ResultCache(2);
+        cache.analysis(graph(1), ParallelEdgePolicy.FIRST, new MetricsTracker());
+        cache.analysis(graph(2), ParallelEdgePolicy.FIRST, new MetricsTracker());
+        cache.analysis(graph(1), ParallelEdgePolicy.FIRST, new MetricsTracker()); // hit, now most recent
+        cache.analysis(graph(3), ParallelEdgePolicy.FIRST, new MetricsTracker()); // evicts graph(2)
+        cache.analysis(graph(1), ParallelEdgePolicy.FIRST, new MetricsTracker());
+        cache.analysis(graph(2), ParallelEdgePolicy.FIRST, new MetricsTracker());
+
+        assertEquals(2, cache.hits());
+        assertEquals(4, cache.misses());
+    }
+
+    @Test
+    void testDiskStoreSurvivesNewCache() {
+        MetricsTracker m = new MetricsTracker();
+        ResultCache writer = new ResultCache(1, dir);
+        GraphAnalysis a = writer.analysis(graph(2), ParallelEdgePolicy.MIN, m);
+        GraphAnalysis.SourcePaths p = writer.paths(a, a.componentId()[3], m);
+
+        ResultCache reader = new ResultCache(1, dir);
+        MetricsTracker m2 = new MetricsTracker();
+        GraphAnalysis b = reader.analysis(graph(2), ParallelEdgePolicy.MIN, m2);
+        GraphAnalysis.SourcePaths q = reader.paths(b, b.componentId()[3], m2);
+
+        assertEquals(1, reader.hits());
+        assertEquals(a.components(), b.components());
+        assertArrayEquals(a.componentId(), b.componentId());
+        assertArrayEquals(a.topo(), b.topo());
+        assertEquals(a.condensation().dag().adjacencyView(), b.condensation().dag().adjacencyView());
+        assertArrayEquals(a.condensation().weighted().weights(), b.condensation().weighted().weights(), 0.0);
+        assertArrayEquals(p.longest(), q.longest(), 0.0);
+        assertArrayEquals(p.longestParent(), q.longestParent());
+        assertEquals(m.getRelaxOps(), m2.getRelaxOps(), "Stored relax count is replayed");
+    }
+}
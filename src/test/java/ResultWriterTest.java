@@ -0,0 +1,113 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphs.csr.CsrGraph;
+import graphs.output.GraphResult;
+import graphs.output.ResultWriter;
+import metrics.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming result writer.
+ * Tests cover: pretty output identical to ObjectMapper, compact and NDJSON formats, optional fields,
+ * per-phase times.
+ */
+public class ResultWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    private static GraphResult sample(String id, String density) {
+        CsrGraph cond = CsrGraph.fromAdjacency(List.of(List.of(1), List.of()));
+        return new GraphResult(id, 3, 3, density, density == null ? null : false,
+                List.of(List.of(1, 0), List.of(2)), cond, new int[]{0, 1}, new int[]{0, 1, 2},
+                0, 0, new double[]{0.0, Double.POSITIVE_INFINITY}, 1, new int[0],
+                new double[]{0.0, 2.5}, new int[]{0, 1}, 2.5,
+                0.125, 3, 6, 2, 1, new double[]{0.5, 0.25, 0.0, 0.125, 1.0, 2.0, 9.0});
+    }
+
+    // Same fields as the writer emits, built the way Main used to build them
+    private static Map<String, Object> asMap(GraphResult r) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", r.id());
+        m.put("nodes", r.nodes());
+        m.put("edgesCount", r.edgesCount());
+        if (r.density() != null) m.put("density", r.density());
+        if (r.isDag() != null) m.put("isDAG_input", r.isDag());
+        m.put("sccCount", r.scc().size());
+        m.put("scc", r.scc());
+        m.put("condensationAdj", r.condensation().adjacencyView());
+        m.put("condensationTopo", r.condensationTopo());
+        m.put("derivedVertexOrder", r.derivedVertexOrder());
+        m.put("sourceVertex", r.sourceVertex());
+        m.put("sourceComponent", r.sourceComponent());
+        m.put("shortestFromComponent", r.shortestDistances());
+        m.put("shortestPathCondensed_src" + r.sourceComponent() + "_to_" + r.shortestTarget(), r.shortestPath());
+        m.put("criticalPathDistances", r.criticalPathDistances());
+        m.put("criticalPathCondensed", r.criticalPath());
+        m.put("criticalPathLength", r.criticalPathLength());
+        m.put("elapsedMs", r.elapsedMs());
+        m.put("dfsOps", r.dfsOps());
+        m.put("edgeOps", r.edgeOps());
+        m.put("topoOps", r.topoOps());
+        m.put("relaxOps", r.relaxOps());
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase p : Phase.values()) {
+            if (p != Phase.WRITE) phases.put(p.label(), r.phaseMs()[p.ordinal()]);
+        }
+        m.put("phaseMs", phases);
+        return m;
+    }
+
+    private Path write(ResultWriter.Format format, GraphResult... results) throws IOException {
+        Path out = dir.resolve(format.outputName("in.json"));
+        try (ResultWriter w = ResultWriter.open(out, "in.json", format)) {
+            for (GraphResult r : results) {
+                w.write(r);
+            }
+        }
+        return out;
+    }
+
+    @Test
+    void testPrettyMatchesObjectMapper() throws IOException {
+        GraphResult a = sample("a", "sparse");
+        GraphResult b = sample("b", null);
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("inputFile", "in.json");
+        root.put("graphs", List.of(asMap(a), asMap(b)));
+
+        String expected = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        assertEquals(expected, Files.readString(write(ResultWriter.Format.PRETTY, a, b)));
+    }
+
+    @Test
+    void testCompactAndNdjson() throws IOException {
+        GraphResult a = sample("a", "sparse");
+        GraphResult b = sample("b", null);
+
+        Path compact = write(ResultWriter.Format.COMPACT, a, b);
+        assertEquals(MAPPER.writeValueAsString(Map.of("inputFile", "in.json", "graphs", List.of(asMap(a), asMap(b))))
+                .length(), Files.size(compact), "Compact output has no whitespace");
+        JsonNode doc = MAPPER.readTree(compact.toFile());
+        assertEquals("b", doc.get("graphs").get(1).get("id").asText());
+        JsonNode phases = doc.get("graphs").get(0).get("phaseMs");
+        assertEquals(2.0, phases.get("longest").asDouble());
+        assertFalse(phases.has("write"), "Write time is not known while the graph is written");
+
+        Path ndjson = write(ResultWriter.Format.NDJSON, a, b);
+        assertTrue(ndjson.toString().endsWith("in-output.ndjson"));
+        List<String> lines = Files.readAllLines(ndjson);
+        assertEquals(2, lines.size());
+        assertEquals(MAPPER.writeValueAsString(asMap(a)), lines.get(0));
+        assertEquals(MAPPER.writeValueAsString(asMap(b)), lines.get(1));
+        assertFalse(MAPPER.readTree(lines.get(1)).has("density"), "Absent optional fields are omitted");
+    }
+}
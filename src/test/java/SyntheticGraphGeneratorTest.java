@@ -0,0 +1,95 @@
+import JSONReader.JsonGraphReader;
+import graphs.csr.CsrGraph;
+import graphs.generator.SyntheticGraphGenerator;
+import graphs.generator.SyntheticGraphGenerator.Spec;
+import graphs.scc.TarjanSCC;
+import graphs.topo.KahnTopologicalSort;
+import metrics.MetricsTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the synthetic graph generator.
+ * Tests cover: determinism, planted SCCs, acyclic output, JSON round trip, weights.
+ */
+public class SyntheticGraphGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private static Spec cyclicSpec(long seed) {
+        return new Spec("g", 20_000, 4.0, 50, 3, 0.3,
+                SyntheticGraphGenerator.SccSizes.POWER_LAW, 40,
+                SyntheticGraphGenerator.Weights.INTEGER, 1, 5, seed);
+    }
+
+    @Test
+    void testSameSeedSameGraph() {
+        CsrGraph a = SyntheticGraphGenerator.generateCsr(cyclicSpec(1));
+        CsrGraph b = SyntheticGraphGenerator.generateCsr(cyclicSpec(1));
+        CsrGraph c = SyntheticGraphGenerator.generateCsr(cyclicSpec(2));
+
+        assertArrayEquals(a.offsets(), b.offsets());
+        assertArrayEquals(a.targets(), b.targets());
+        assertArrayEquals(a.weights(), b.weights(), 0.0);
+        assertFalse(Arrays.equals(a.targets(), c.targets()), "Different seed should change the graph");
+    }
+
+    @Test
+    void testPlantedSccsAreTheOnlyCycles() throws IOException {
+        Spec spec = cyclicSpec(3);
+        CsrGraph.Builder b = new CsrGraph.Builder();
+        var stats = SyntheticGraphGenerator.generate(spec, b::addEdge);
+        CsrGraph g = b.build(spec.nodes());
+
+        var scc = TarjanSCC.of(g).run(new MetricsTracker());
+        long nonTrivial = scc.stream().filter(c -> c.size() > 1).count();
+        long inCycles = scc.stream().filter(c -> c.size() > 1).mapToLong(List::size).sum();
+
+        assertEquals(stats.cyclicBlocks(), nonTrivial, "Every planted block is exactly one SCC");
+        assertTrue(scc.stream().allMatch(c -> c.size() <= 40), "SCC sizes respect maxSccSize");
+        assertEquals(0.3, (double) inCycles / spec.nodes(), 0.1, "Cyclic fraction close to requested");
+        assertEquals(stats.edges(), g.edges());
+        assertEquals(spec.nodes() * spec.avgOutDegree(), g.edges(), spec.nodes() * 0.05, "Edge budget respected");
+        for (double w : g.weights()) {
+            assertTrue(w >= 1 && w <= 5 && w == Math.floor(w), "Integer weights in [1, 5]");
+        }
+    }
+
+    @Test
+    void testZeroCyclicFractionGivesDag() {
+        Spec spec = new Spec("dag", 5_000, 3.0, 20, 2, 0.0,
+                SyntheticGraphGenerator.SccSizes.UNIFORM, 2,
+                SyntheticGraphGenerator.Weights.CONSTANT, 2, 2, 9);
+        CsrGraph g = SyntheticGraphGenerator.generateCsr(spec);
+
+        assertEquals(5_000, KahnTopologicalSort.sortCsr(g, new MetricsTracker()).length);
+        assertEquals(15_000, g.edges());
+    }
+
+    @Test
+    void testJsonOutputMatchesInMemoryGraph() throws IOException {
+        Path file = dir.resolve("gen.json");
+        List<Spec> specs = List.of(cyclicSpec(5), Spec.of("plain", 1_000, 7));
+        SyntheticGraphGenerator.writeJson(specs, file);
+
+        List<JsonGraphReader.SingleGraph> read = new ArrayList<>();
+        JsonGraphReader.stream(file, read::add);
+
+        assertEquals(2, read.size());
+        for (int i = 0; i < specs.size(); i++) {
+            CsrGraph expected = SyntheticGraphGenerator.generateCsr(specs.get(i));
+            CsrGraph actual = read.get(i).graph();
+            assertEquals(specs.get(i).id(), read.get(i).id());
+            assertArrayEquals(expected.targets(), actual.targets());
+            assertArrayEquals(expected.weights(), actual.weights(), 0.0);
+            assertEquals(expected.edges(), read.get(i).edgesCount());
+        }
+        assertEquals(Boolean.FALSE, read.get(0).isDag());
+        assertEquals(Boolean.TRUE, read.get(1).isDag());
+    }
+}
@@ -1,3 +1,4 @@
+import graphs.csr.CsrGraph;
 import graphs.scc.TarjanSCC;
 import metrics.MetricsTracker;
 import org.junit.jupiter.api.Test;
@@ -6,7 +7,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for Tarjan's SCC algorithm.
- * Tests cover: basic cycles, single SCC, multiple SCCs, DAG (no cycles), edge cases.
+ * Tests cover: basic cycles, single SCC, multiple SCCs, DAG (no cycles), edge cases,
+ * trimming pre-pass.
  */
 public class TarjanSCCTest {
 
@@ -89,6 +91,80 @@ public class TarjanSCCTest {
         assertEquals(4, m.getDfsOps(), "Should visit all 4 nodes");
     }
 
+    @Test
+    void testLongChainDoesNotOverflowStack() {
+        // Graph: 0→1→...→(n-1)→0, one SCC reached through a very deep DFS
+        int n = 300_000;
+        List<List<Integer>> adj = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            adj.add(List.of((i + 1) % n));
+        }
+        MetricsTracker m = new MetricsTracker();
+        var scc = new TarjanSCC(adj).run(m);
+
+        assertEquals(1, scc.size(), "Cycle should form a single SCC");
+        assertEquals(n, scc.get(0).size(), "SCC should contain every vertex");
+        assertEquals(n, m.getDfsOps(), "Should visit every vertex once");
+    }
+
+    @Test
+    void testComponentOrderAndIds() {
+        // Graph: 0→1→2→0, 2→3, 3→4→3
+        List<List<Integer>> adj = List.of(
+                List.of(1),
+                List.of(2),
+                List.of(0, 3),
+                List.of(4),
+                List.of(3)
+        );
+        TarjanSCC tarjan = new TarjanSCC(adj);
+        var scc = tarjan.run(new MetricsTracker());
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4)), scc, "Members ascending, sorted by min vertex");
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1}, tarjan.getComponentIds());
+        assertEquals(List.of(List.of(1), List.of()), tarjan.buildCondensation());
+    }
+
+    @Test
+    void testTrimmingPeelsDagCompletely() {
+        // Graph: 0→1, 0→2, 1→3, 2→3 (DAG): everything is peeled, no DFS
+        CsrGraph g = CsrGraph.fromAdjacency(List.of(List.of(1, 2), List.of(3), List.of(3), List.of()));
+        MetricsTracker m = new MetricsTracker();
+        TarjanSCC tarjan = TarjanSCC.trimmed(g);
+        var scc = tarjan.run(m);
+
+        assertEquals(List.of(List.of(0), List.of(1), List.of(2), List.of(3)), scc);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, tarjan.getComponentIds());
+        assertEquals(4, m.getDfsOps());
+        assertEquals(4, m.getEdgeOps(), "Each edge is counted once");
+    }
+
+    @Test
+    void testTrimmingMatchesPlainTarjan() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int n = 5 + rnd.nextInt(400);
+            CsrGraph.Builder b = new CsrGraph.Builder();
+            int edges = rnd.nextInt(2 * n);
+            for (int i = 0; i < edges; i++) {
+                b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+            }
+            CsrGraph g = b.build(n);
+
+            TarjanSCC plain = TarjanSCC.of(g);
+            TarjanSCC trimmed = TarjanSCC.trimmed(g);
+            MetricsTracker expectedM = new MetricsTracker();
+            var expected = plain.run(expectedM);
+            MetricsTracker m = new MetricsTracker();
+            var actual = trimmed.run(m);
+
+            assertArrayEquals(plain.getComponentIds(), trimmed.getComponentIds(), "Round " + round);
+            assertEquals(expected, actual, "Round " + round);
+            assertEquals(n, m.getDfsOps(), "Every vertex is either peeled or visited");
+            assertEquals(expectedM.getEdgeOps(), m.getEdgeOps(), "Round " + round);
+        }
+    }
+
     @Test
     void testNullGraphThrows() {
         assertThrows(IllegalArgumentException.class, () -> new TarjanSCC(null));